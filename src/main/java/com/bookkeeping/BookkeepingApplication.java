@@ -17,6 +17,8 @@ import javafx.stage.Stage;
  */
 public class BookkeepingApplication extends Application {
     
+    private MainController controller;
+    
     @Override
     public void start(Stage stage) throws IOException {
         // Initialize database and default Chart of Accounts
@@ -37,7 +39,7 @@ public class BookkeepingApplication extends Application {
         stage.show();
         
         // Set controller reference
-        MainController controller = fxmlLoader.getController();
+        controller = fxmlLoader.getController();
         controller.setStage(stage);
     }
     
@@ -58,6 +60,11 @@ public class BookkeepingApplication extends Application {
     
     @Override
     public void stop() {
+        // Stop background report jobs
+        if (controller != null) {
+            controller.shutdown();
+        }
+        
         // Close database connections
         DatabaseUtil.closeEntityManagerFactory();
     }
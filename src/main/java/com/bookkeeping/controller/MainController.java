@@ -6,30 +6,43 @@ import java.math.BigDecimal;
 import java.net.URL;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.bookkeeping.entity.Account;
 import com.bookkeeping.entity.AccountType;
 import com.bookkeeping.entity.Transaction;
-import com.bookkeeping.model.BalanceSheetData;
-import com.bookkeeping.model.IncomeStatementData;
-import com.bookkeeping.model.TrialBalanceData;
+import com.bookkeeping.model.ReportSpec;
 import com.bookkeeping.service.AccountService;
 import com.bookkeeping.service.PDFReportService;
 import com.bookkeeping.service.ReportService;
 import com.bookkeeping.service.TransactionService;
+import com.bookkeeping.util.ReportBatchExporter;
+import com.bookkeeping.util.ReportJobExecutor;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.TabPane;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
@@ -37,21 +50,44 @@ import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 /**
  * Main Controller untuk aplikasi bookkeeping
  */
 public class MainController implements Initializable {
     
+    // Jumlah laporan yang dibuat bersamaan; job lain menunggu di antrian
+    private static final int REPORT_WORKERS = 2;
+    private static final int TRANSACTION_PAGE_SIZE = 200;
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(200);
+    
     // Services
     private AccountService accountService;
     private TransactionService transactionService;
     private ReportService reportService;
     private PDFReportService pdfReportService;
+    private ReportBatchExporter reportBatchExporter;
+    private ReportJobExecutor reportJobExecutor;
+    private final PauseTransition accountSearchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    private final PauseTransition transactionSearchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    
+    // Transactions grid (keyset pagination)
+    private final ObservableList<Transaction> transactionRows = FXCollections.observableArrayList();
+    private final ExecutorService transactionPageLoader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transaction-page-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int transactionQueryGeneration;
+    private boolean transactionPageLoading;
+    private boolean transactionsExhausted;
     
     private Stage stage;
     
@@ -88,6 +124,8 @@ public class MainController implements Initializable {
         transactionService = new TransactionService();
         reportService = new ReportService();
         pdfReportService = new PDFReportService();
+        reportBatchExporter = new ReportBatchExporter(reportService, pdfReportService);
+        reportJobExecutor = new ReportJobExecutor(REPORT_WORKERS);
         
         // Initialize UI components
         initializeAccountsTable();
@@ -150,6 +188,10 @@ public class MainController implements Initializable {
             }
         });
         
+        // Rows are loaded page by page as the user scrolls
+        transactionsTable.setItems(transactionRows);
+        transactionsTable.skinProperty().addListener((obs, oldSkin, newSkin) -> attachTransactionScrollListener());
+        
         // Double click to edit
         transactionsTable.setRowFactory(tv -> {
             TableRow<Transaction> row = new TableRow<>();
@@ -174,29 +216,92 @@ public class MainController implements Initializable {
         balanceSheetDate.setValue(LocalDate.now()); // Today
         
         // Add listeners for filters
-        accountSearchField.textProperty().addListener((obs, oldVal, newVal) -> filterAccounts());
+        // Pencarian account dan transaksi dijalankan sekali setiap jeda mengetik
+        accountSearchDebounce.setOnFinished(event -> filterAccounts());
+        accountSearchField.textProperty().addListener((obs, oldVal, newVal) -> accountSearchDebounce.playFromStart());
         accountTypeFilter.valueProperty().addListener((obs, oldVal, newVal) -> filterAccounts());
-        transactionSearchField.textProperty().addListener((obs, oldVal, newVal) -> filterTransactions());
-        transactionDateFilter.valueProperty().addListener((obs, oldVal, newVal) -> filterTransactions());
+        transactionSearchDebounce.setOnFinished(event -> filterTransactions());
+        transactionSearchField.textProperty().addListener((obs, oldVal, newVal) -> transactionSearchDebounce.playFromStart());
+        transactionDateFilter.valueProperty().addListener((obs, oldVal, newVal) -> {
+            // Query baru sudah memakai teks pencarian saat ini
+            transactionSearchDebounce.stop();
+            filterTransactions();
+        });
     }
     
     private void loadAccountsData() {
         try {
-            List<Account> accounts = accountService.getAllAccounts();
-            ObservableList<Account> accountsList = FXCollections.observableArrayList(accounts);
-            accountsTable.setItems(accountsList);
+            // Membaca ulang dari database (sekaligus menyegarkan index account), lalu filter saat ini diterapkan
+            accountService.getAllAccounts();
+            filterAccounts();
         } catch (Exception e) {
             showErrorAlert("Error loading accounts", e.getMessage());
         }
     }
     
+    /**
+     * Memuat ulang grid transaksi dari halaman pertama sesuai filter saat ini
+     */
     private void loadTransactionsData() {
-        try {
-            List<Transaction> transactions = transactionService.getAllTransactions();
-            ObservableList<Transaction> transactionsList = FXCollections.observableArrayList(transactions);
-            transactionsTable.setItems(transactionsList);
-        } catch (Exception e) {
-            showErrorAlert("Error loading transactions", e.getMessage());
+        transactionQueryGeneration++;
+        transactionRows.clear();
+        transactionsExhausted = false;
+        transactionPageLoading = false;
+        loadNextTransactionPage();
+    }
+    
+    /**
+     * Mengambil halaman berikutnya di background lalu menambahkannya ke grid.
+     * Hasil query lama (filter sudah berubah) dibuang lewat transactionQueryGeneration.
+     */
+    private void loadNextTransactionPage() {
+        if (transactionPageLoading || transactionsExhausted) {
+            return;
+        }
+        transactionPageLoading = true;
+        
+        int generation = transactionQueryGeneration;
+        LocalDate selectedDate = transactionDateFilter.getValue();
+        String searchText = transactionSearchField.getText();
+        Transaction after = transactionRows.isEmpty() ? null : transactionRows.get(transactionRows.size() - 1);
+        
+        Task<List<Transaction>> task = new Task<>() {
+            @Override
+            protected List<Transaction> call() {
+                return transactionService.getTransactionPage(selectedDate, searchText, after, TRANSACTION_PAGE_SIZE);
+            }
+        };
+        task.setOnSucceeded(event -> {
+            if (generation != transactionQueryGeneration) {
+                return;
+            }
+            List<Transaction> page = task.getValue();
+            transactionRows.addAll(page);
+            transactionsExhausted = page.size() < TRANSACTION_PAGE_SIZE;
+            transactionPageLoading = false;
+        });
+        task.setOnFailed(event -> {
+            if (generation != transactionQueryGeneration) {
+                return;
+            }
+            transactionPageLoading = false;
+            showErrorAlert("Error loading transactions", task.getException().getMessage());
+        });
+        transactionPageLoader.execute(task);
+    }
+    
+    /**
+     * Halaman berikutnya dimuat saat scrollbar vertikal grid mendekati bawah
+     */
+    private void attachTransactionScrollListener() {
+        for (Node node : transactionsTable.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar scrollBar && scrollBar.getOrientation() == Orientation.VERTICAL) {
+                scrollBar.valueProperty().addListener((obs, oldVal, newVal) -> {
+                    if (newVal.doubleValue() >= scrollBar.getMax() * 0.9) {
+                        loadNextTransactionPage();
+                    }
+                });
+            }
         }
     }
     
@@ -205,18 +310,8 @@ public class MainController implements Initializable {
             String searchText = accountSearchField.getText();
             AccountType selectedType = accountTypeFilter.getValue();
             
-            List<Account> allAccounts = accountService.getAllAccounts();
-            List<Account> filteredAccounts = allAccounts.stream()
-                .filter(account -> {
-                    boolean matchesSearch = searchText == null || searchText.isEmpty() ||
-                        account.getAccountName().toLowerCase().contains(searchText.toLowerCase()) ||
-                        account.getAccountCode().toLowerCase().contains(searchText.toLowerCase());
-                    
-                    boolean matchesType = selectedType == null || account.getAccountType() == selectedType;
-                    
-                    return matchesSearch && matchesType;
-                })
-                .toList();
+            // Filter dari index in-memory AccountService, tanpa query database
+            List<Account> filteredAccounts = accountService.filterAccounts(searchText, selectedType);
             
             ObservableList<Account> accountsList = FXCollections.observableArrayList(filteredAccounts);
             accountsTable.setItems(accountsList);
@@ -226,29 +321,8 @@ public class MainController implements Initializable {
     }
     
     private void filterTransactions() {
-        try {
-            String searchText = transactionSearchField.getText();
-            LocalDate selectedDate = transactionDateFilter.getValue();
-            
-            List<Transaction> allTransactions = transactionService.getAllTransactions();
-            List<Transaction> filteredTransactions = allTransactions.stream()
-                .filter(transaction -> {
-                    boolean matchesSearch = searchText == null || searchText.isEmpty() ||
-                        transaction.getDescription().toLowerCase().contains(searchText.toLowerCase()) ||
-                        transaction.getTransactionNumber().toLowerCase().contains(searchText.toLowerCase());
-                    
-                    boolean matchesDate = selectedDate == null || 
-                        transaction.getTransactionDate().equals(selectedDate);
-                    
-                    return matchesSearch && matchesDate;
-                })
-                .toList();
-            
-            ObservableList<Transaction> transactionsList = FXCollections.observableArrayList(filteredTransactions);
-            transactionsTable.setItems(transactionsList);
-        } catch (Exception e) {
-            showErrorAlert("Error filtering transactions", e.getMessage());
-        }
+        // Filter tanggal dan pencarian dijalankan di query (TransactionDAO.findPage)
+        loadTransactionsData();
     }
     
     // Event Handlers - Account Management
@@ -325,75 +399,137 @@ public class MainController implements Initializable {
     // Event Handlers - Reports
     @FXML
     private void handleGenerateTrialBalance() {
-        try {
-            LocalDate asOfDate = balanceSheetDate.getValue();
-            TrialBalanceData data = reportService.generateTrialBalance(asOfDate);
-            
-            // Show PDF save dialog
-            FileChooser fileChooser = new FileChooser();
-            fileChooser.setTitle("Save Trial Balance PDF");
-            fileChooser.setInitialFileName("trial_balance_" + asOfDate.toString() + ".pdf");
-            fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PDF Files", "*.pdf"));
-            
-            File file = fileChooser.showSaveDialog(stage);
-            if (file != null) {
-                pdfReportService.generateTrialBalancePDF(data, file.getAbsolutePath());
-                showInfoAlert("Success", "Trial Balance PDF generated successfully!");
-            }
-        } catch (Exception e) {
-            showErrorAlert("Error generating Trial Balance", e.getMessage());
+        LocalDate asOfDate = balanceSheetDate.getValue();
+        File file = choosePdfFile("Save Trial Balance PDF", "trial_balance_" + asOfDate.toString() + ".pdf");
+        if (file != null) {
+            submitReportJob("Trial Balance " + asOfDate, file, 
+                () -> reportService.generateTrialBalance(asOfDate),
+                (data, path) -> pdfReportService.generateTrialBalancePDF(data, path));
         }
     }
     
     @FXML
     private void handleGenerateBalanceSheet() {
-        try {
-            LocalDate asOfDate = balanceSheetDate.getValue();
-            BalanceSheetData data = reportService.generateBalanceSheet(asOfDate);
-            
-            // Show PDF save dialog
-            FileChooser fileChooser = new FileChooser();
-            fileChooser.setTitle("Save Balance Sheet PDF");
-            fileChooser.setInitialFileName("balance_sheet_" + asOfDate.toString() + ".pdf");
-            fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PDF Files", "*.pdf"));
-            
-            File file = fileChooser.showSaveDialog(stage);
-            if (file != null) {
-                pdfReportService.generateBalanceSheetPDF(data, file.getAbsolutePath());
-                showInfoAlert("Success", "Balance Sheet PDF generated successfully!");
-            }
-        } catch (Exception e) {
-            showErrorAlert("Error generating Balance Sheet", e.getMessage());
+        LocalDate asOfDate = balanceSheetDate.getValue();
+        File file = choosePdfFile("Save Balance Sheet PDF", "balance_sheet_" + asOfDate.toString() + ".pdf");
+        if (file != null) {
+            submitReportJob("Balance Sheet " + asOfDate, file, 
+                () -> reportService.generateBalanceSheet(asOfDate),
+                (data, path) -> pdfReportService.generateBalanceSheetPDF(data, path));
         }
     }
     
     @FXML
     private void handleGenerateIncomeStatement() {
-        try {
-            LocalDate startDate = reportStartDate.getValue();
-            LocalDate endDate = reportEndDate.getValue();
-            
-            if (startDate.isAfter(endDate)) {
-                showWarningAlert("Invalid Date Range", "Start date must be before end date.");
+        LocalDate startDate = reportStartDate.getValue();
+        LocalDate endDate = reportEndDate.getValue();
+        
+        if (startDate.isAfter(endDate)) {
+            showWarningAlert("Invalid Date Range", "Start date must be before end date.");
+            return;
+        }
+        
+        File file = choosePdfFile("Save Income Statement PDF", "income_statement_" + startDate + "_to_" + endDate + ".pdf");
+        if (file != null) {
+            submitReportJob("Income Statement " + startDate + " to " + endDate, file, 
+                () -> reportService.generateIncomeStatement(startDate, endDate),
+                (data, path) -> pdfReportService.generateIncomeStatementPDF(data, path));
+        }
+    }
+    
+    @FXML
+    private void handleGenerateGeneralLedger() {
+        LocalDate startDate = reportStartDate.getValue();
+        LocalDate endDate = reportEndDate.getValue();
+        
+        if (startDate.isAfter(endDate)) {
+            showWarningAlert("Invalid Date Range", "Start date must be before end date.");
+            return;
+        }
+        
+        // Loader hanya membaca header account; entries di-stream saat PDF ditulis
+        File file = choosePdfFile("Save General Ledger PDF", "general_ledger_" + startDate + "_to_" + endDate + ".pdf");
+        if (file != null) {
+            submitReportJob("General Ledger " + startDate + " to " + endDate, file, 
+                () -> reportService.generateGeneralLedger(startDate, endDate),
+                (data, path) -> pdfReportService.generateGeneralLedgerPDF(data, reportService, path));
+        }
+    }
+    
+    @FXML
+    private void handleExportMonthEndPack() {
+        LocalDate startDate = reportStartDate.getValue();
+        LocalDate endDate = reportEndDate.getValue();
+        
+        if (startDate.isAfter(endDate)) {
+            showWarningAlert("Invalid Date Range", "Start date must be before end date.");
+            return;
+        }
+        
+        // Trial Balance, Balance Sheet dan Income Statement dirender paralel lalu digabung jadi satu PDF
+        File file = choosePdfFile("Save Month-End Pack PDF", "month_end_" + startDate + "_to_" + endDate + ".pdf");
+        if (file != null) {
+            submitReportJob("Month-End Pack " + startDate + " to " + endDate, file, 
+                () -> ReportSpec.monthEnd(startDate, endDate),
+                (specs, path) -> logExportResults(reportBatchExporter.exportMerged(specs, new File(path))));
+        }
+    }
+    
+    private void logExportResults(List<ReportBatchExporter.ExportResult> results) {
+        for (ReportBatchExporter.ExportResult result : results) {
+            System.out.println("✓ " + result);
+        }
+    }
+    
+    private File choosePdfFile(String title, String initialFileName) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle(title);
+        fileChooser.setInitialFileName(initialFileName);
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PDF Files", "*.pdf"));
+        return fileChooser.showSaveDialog(stage);
+    }
+    
+    /**
+     * Menjalankan laporan di background dan menampilkan progress-nya di area laporan.
+     * PDFReportService thread-safe, jadi satu instance dipakai semua job.
+     */
+    private <T> void submitReportJob(String name, File file, ReportJobExecutor.ReportLoader<T> loader, 
+                                     ReportJobExecutor.ReportWriter<T> writer) {
+        ReportJobExecutor.ReportJob<T> job = reportJobExecutor.submit(name, file, loader, writer);
+        
+        Label nameLabel = new Label(name);
+        nameLabel.setPrefWidth(260);
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(160);
+        progressBar.progressProperty().bind(job.progressProperty());
+        Label statusLabel = new Label();
+        statusLabel.textProperty().bind(job.messageProperty());
+        HBox.setHgrow(statusLabel, Priority.ALWAYS);
+        statusLabel.setMaxWidth(Double.MAX_VALUE);
+        Button actionButton = new Button("Cancel");
+        actionButton.getStyleClass().add("secondary");
+        
+        HBox row = new HBox(12, nameLabel, progressBar, statusLabel, actionButton);
+        row.setAlignment(Pos.CENTER_LEFT);
+        actionButton.setOnAction(event -> job.cancel());
+        reportContentArea.getChildren().add(0, row);
+        
+        job.stateProperty().addListener((observable, oldState, state) -> {
+            if (state != Worker.State.SUCCEEDED && state != Worker.State.FAILED && state != Worker.State.CANCELLED) {
                 return;
             }
-            
-            IncomeStatementData data = reportService.generateIncomeStatement(startDate, endDate);
-            
-            // Show PDF save dialog
-            FileChooser fileChooser = new FileChooser();
-            fileChooser.setTitle("Save Income Statement PDF");
-            fileChooser.setInitialFileName("income_statement_" + startDate + "_to_" + endDate + ".pdf");
-            fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PDF Files", "*.pdf"));
-            
-            File file = fileChooser.showSaveDialog(stage);
-            if (file != null) {
-                pdfReportService.generateIncomeStatementPDF(data, file.getAbsolutePath());
-                showInfoAlert("Success", "Income Statement PDF generated successfully!");
+            statusLabel.textProperty().unbind();
+            if (state == Worker.State.SUCCEEDED) {
+                statusLabel.setText("Saved to " + file.getAbsolutePath());
+            } else if (state == Worker.State.FAILED) {
+                statusLabel.setText("Failed: " + job.getException().getMessage());
+                showErrorAlert("Error generating " + name, job.getException().getMessage());
+            } else if (state == Worker.State.CANCELLED) {
+                statusLabel.setText("Cancelled");
             }
-        } catch (Exception e) {
-            showErrorAlert("Error generating Income Statement", e.getMessage());
-        }
+            actionButton.setText("Clear");
+            actionButton.setOnAction(event -> reportContentArea.getChildren().remove(row));
+        });
     }
     
     @FXML
@@ -408,13 +544,28 @@ public class MainController implements Initializable {
         Platform.exit();
     }
     
+    /**
+     * Menghentikan job laporan yang masih berjalan (dipanggil saat aplikasi ditutup)
+     */
+    public void shutdown() {
+        reportJobExecutor.shutdownNow();
+        transactionPageLoader.shutdownNow();
+    }
+    
     // Helper methods
     private void editAccount(Account account) {
         showAccountDialog(account);
     }
     
     private void editTransaction(Transaction transaction) {
-        showTransactionDialog(transaction);
+        // Baris grid tidak memuat entries: ambil ulang transaksi lengkap sebelum diedit
+        Optional<Transaction> fullTransaction = transactionService.findTransactionById(transaction.getId());
+        if (fullTransaction.isPresent()) {
+            showTransactionDialog(fullTransaction.get());
+        } else {
+            showWarningAlert("Transaction Not Found", "The selected transaction no longer exists.");
+            loadTransactionsData();
+        }
     }
     
     private void showAccountDialog(Account account) {
@@ -2,11 +2,18 @@ package com.bookkeeping.dao;
 
 import com.bookkeeping.entity.Account;
 import com.bookkeeping.entity.AccountType;
+import com.bookkeeping.util.AccountCache;
+import com.bookkeeping.util.BalanceLedger;
 import com.bookkeeping.util.DatabaseUtil;
+import com.bookkeeping.util.Money;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -15,9 +22,12 @@ import java.util.Optional;
 public class AccountDAO {
     
     /**
-     * Menyimpan account baru atau update existing account
+     * Menyimpan account baru atau update existing account. Untuk account yang sudah ada, balance
+     * dan opening balance tetap nilai di database: balance hasil findById sudah ditambah delta
+     * BalanceLedger yang tertunda, dan perubahan balance hanya lewat BalanceLedger atau updateBalance.
      */
     public Account save(Account account) {
+        long stamp = AccountCache.stamp();
         EntityManager em = DatabaseUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
         
@@ -27,15 +37,27 @@ public class AccountDAO {
             if (account.getId() == null) {
                 em.persist(account);
             } else {
+                Account stored = em.find(Account.class, account.getId());
+                if (stored == null) {
+                    throw new IllegalArgumentException("Account not found with ID: " + account.getId());
+                }
+                BigDecimal balance = stored.getBalance();
+                BigDecimal openingBalance = stored.getOpeningBalance();
                 account = em.merge(account);
+                account.setBalance(balance);
+                account.setOpeningBalance(openingBalance);
             }
             
             transaction.commit();
-            return account;
+            AccountCache.put(account, stamp);
+            return withPendingBalance(account);
         } catch (Exception e) {
             if (transaction.isActive()) {
                 transaction.rollback();
             }
+            if (account.getId() != null) {
+                AccountCache.evict(account.getId());
+            }
             throw new RuntimeException("Error saving account: " + e.getMessage(), e);
         } finally {
             em.close();
@@ -43,22 +65,35 @@ public class AccountDAO {
     }
     
     /**
-     * Mencari account berdasarkan ID
+     * Mencari account berdasarkan ID (lewat AccountCache)
      */
     public Optional<Account> findById(Long id) {
+        Account cached = AccountCache.getById(id);
+        if (cached != null) {
+            return Optional.of(withPendingBalance(cached));
+        }
+        
+        long stamp = AccountCache.stamp();
         EntityManager em = DatabaseUtil.getEntityManager();
         try {
             Account account = em.find(Account.class, id);
-            return Optional.ofNullable(account);
+            AccountCache.put(account, stamp);
+            return Optional.ofNullable(account).map(this::withPendingBalance);
         } finally {
             em.close();
         }
     }
     
     /**
-     * Mencari account berdasarkan account code
+     * Mencari account berdasarkan account code (lewat AccountCache)
      */
     public Optional<Account> findByAccountCode(String accountCode) {
+        Account cached = AccountCache.getByCode(accountCode);
+        if (cached != null) {
+            return Optional.of(withPendingBalance(cached));
+        }
+        
+        long stamp = AccountCache.stamp();
         EntityManager em = DatabaseUtil.getEntityManager();
         try {
             TypedQuery<Account> query = em.createQuery(
@@ -66,7 +101,11 @@ public class AccountDAO {
             query.setParameter("accountCode", accountCode);
             
             List<Account> results = query.getResultList();
-            return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+            if (results.isEmpty()) {
+                return Optional.empty();
+            }
+            AccountCache.put(results.get(0), stamp);
+            return Optional.of(withPendingBalance(results.get(0)));
         } finally {
             em.close();
         }
@@ -76,11 +115,11 @@ public class AccountDAO {
      * Mendapatkan semua accounts
      */
     public List<Account> findAll() {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<Account> query = em.createQuery(
                 "SELECT a FROM Account a ORDER BY a.accountCode", Account.class);
-            return query.getResultList();
+            return withPendingBalances(query.getResultList());
         } finally {
             em.close();
         }
@@ -90,12 +129,12 @@ public class AccountDAO {
      * Mendapatkan accounts berdasarkan type
      */
     public List<Account> findByAccountType(AccountType accountType) {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<Account> query = em.createQuery(
                 "SELECT a FROM Account a WHERE a.accountType = :accountType ORDER BY a.accountCode", Account.class);
             query.setParameter("accountType", accountType);
-            return query.getResultList();
+            return withPendingBalances(query.getResultList());
         } finally {
             em.close();
         }
@@ -105,11 +144,11 @@ public class AccountDAO {
      * Mendapatkan accounts yang aktif
      */
     public List<Account> findActiveAccounts() {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<Account> query = em.createQuery(
                 "SELECT a FROM Account a WHERE a.isActive = true ORDER BY a.accountCode", Account.class);
-            return query.getResultList();
+            return withPendingBalances(query.getResultList());
         } finally {
             em.close();
         }
@@ -119,12 +158,12 @@ public class AccountDAO {
      * Mencari accounts berdasarkan nama (partial match)
      */
     public List<Account> findByAccountNameContaining(String name) {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<Account> query = em.createQuery(
                 "SELECT a FROM Account a WHERE LOWER(a.accountName) LIKE LOWER(:name) ORDER BY a.accountCode", Account.class);
             query.setParameter("name", "%" + name + "%");
-            return query.getResultList();
+            return withPendingBalances(query.getResultList());
         } finally {
             em.close();
         }
@@ -144,6 +183,7 @@ public class AccountDAO {
             if (account != null) {
                 em.remove(account);
                 transaction.commit();
+                AccountCache.evict(id);
                 return true;
             }
             
@@ -163,6 +203,10 @@ public class AccountDAO {
      * Mengecek apakah account code sudah ada
      */
     public boolean existsByAccountCode(String accountCode) {
+        if (AccountCache.getByCode(accountCode) != null) {
+            return true;
+        }
+        
         EntityManager em = DatabaseUtil.getEntityManager();
         try {
             TypedQuery<Long> query = em.createQuery(
@@ -175,20 +219,26 @@ public class AccountDAO {
     }
     
     /**
-     * Update balance account
+     * Mengeset balance account secara langsung (koreksi manual atau saldo awal hasil import).
+     * Selisihnya dicatat ke opening balance, sehingga rekonsiliasi dengan total entries tetap
+     * menghasilkan balance ini.
      */
-    public void updateBalance(Long accountId, java.math.BigDecimal newBalance) {
+    public void updateBalance(Long accountId, BigDecimal newBalance) {
+        // Delta yang tertunda harus sudah ada di balance sebelum selisihnya dihitung
+        BalanceLedger.flush();
+        
         EntityManager em = DatabaseUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
         
         try {
             transaction.begin();
             
-            Account account = em.find(Account.class, accountId);
-            if (account != null) {
-                account.setBalance(newBalance);
-                em.merge(account);
-            }
+            em.createQuery(
+                "UPDATE Account a SET a.openingBalance = ROUND(COALESCE(a.openingBalance, 0) + :balance - a.balance, 2), " +
+                "a.balance = :balance WHERE a.id = :id")
+                .setParameter("balance", newBalance)
+                .setParameter("id", accountId)
+                .executeUpdate();
             
             transaction.commit();
         } catch (Exception e) {
@@ -197,7 +247,126 @@ public class AccountDAO {
             }
             throw new RuntimeException("Error updating account balance: " + e.getMessage(), e);
         } finally {
+            AccountCache.evict(accountId);
             em.close();
         }
     }
+    
+    /**
+     * Menambahkan delta ke balance beberapa account dalam satu database transaction
+     * (flush dari BalanceLedger). Increment dijalankan di SQL, bukan lewat entity.
+     */
+    public void addToBalances(Map<Long, BigDecimal> deltas) {
+        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+        
+        try {
+            transaction.begin();
+            
+            // Kolom decimal disimpan SQLite sebagai real; dibulatkan ke sen agar increment tidak menumpuk galat
+            Query update = em.createQuery("UPDATE Account a SET a.balance = ROUND(a.balance + :delta, 2) WHERE a.id = :id");
+            for (Map.Entry<Long, BigDecimal> delta : deltas.entrySet()) {
+                update.setParameter("delta", delta.getValue())
+                      .setParameter("id", delta.getKey())
+                      .executeUpdate();
+            }
+            
+            transaction.commit();
+            AccountCache.evictAll(deltas.keySet());
+        } catch (Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Error updating account balances: " + e.getMessage(), e);
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Menyamakan balance setiap account dengan opening balance ditambah mutasi entries-nya
+     * (dari TransactionEntryDAO.calculateTotalsForAllAccounts). Account lama yang belum punya
+     * opening balance mendapat opening balance = balance saat ini dikurangi mutasi entries.
+     *
+     * @return jumlah account yang balance-nya diperbaiki
+     */
+    public int reconcileBalances(Map<Long, TransactionEntryDAO.AccountTotals> totals) {
+        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+        
+        try {
+            transaction.begin();
+            
+            List<Long> changed = new ArrayList<>();
+            int corrected = 0;
+            for (Account account : em.createQuery("SELECT a FROM Account a", Account.class).getResultList()) {
+                TransactionEntryDAO.AccountTotals accountTotals = totals.get(account.getId());
+                long net = accountTotals == null ? 0 :
+                    account.normalDeltaMinor(accountTotals.getTotalDebitMinor(), accountTotals.getTotalCreditMinor());
+                long balance = Money.toMinor(account.getBalance());
+                
+                if (account.getOpeningBalance() == null) {
+                    em.createQuery("UPDATE Account a SET a.openingBalance = :opening WHERE a.id = :id")
+                        .setParameter("opening", Money.toBigDecimal(Money.subtract(balance, net)))
+                        .setParameter("id", account.getId())
+                        .executeUpdate();
+                    changed.add(account.getId());
+                    continue;
+                }
+                
+                long expected = Money.add(Money.toMinor(account.getOpeningBalance()), net);
+                if (expected != balance) {
+                    em.createQuery("UPDATE Account a SET a.balance = :balance WHERE a.id = :id")
+                        .setParameter("balance", Money.toBigDecimal(expected))
+                        .setParameter("id", account.getId())
+                        .executeUpdate();
+                    changed.add(account.getId());
+                    corrected++;
+                }
+            }
+            
+            transaction.commit();
+            AccountCache.evictAll(changed);
+            return corrected;
+        } catch (Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Error reconciling account balances: " + e.getMessage(), e);
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Menambahkan delta BalanceLedger yang belum di-flush ke balance account hasil query
+     */
+    private Account withPendingBalance(Account account) {
+        BigDecimal delta = BalanceLedger.pendingDelta(account.getId());
+        if (delta.signum() != 0 && account.getBalance() != null) {
+            account.setBalance(account.getBalance().add(delta));
+        }
+        return account;
+    }
+    
+    private List<Account> withPendingBalances(List<Account> accounts) {
+        accounts.forEach(this::withPendingBalance);
+        return accounts;
+    }
+    
+    /**
+     * Mengecek apakah account sudah dipakai oleh entry transaksi
+     */
+    public boolean hasTransactionEntries(Long accountId) {
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            TypedQuery<Long> query = em.createQuery(
+                "SELECT COUNT(te) FROM TransactionEntry te WHERE te.account.id = :accountId", Long.class);
+            query.setParameter("accountId", accountId);
+            return query.getSingleResult() > 0;
+        } finally {
+            em.close();
+        }
+    }
+
 }
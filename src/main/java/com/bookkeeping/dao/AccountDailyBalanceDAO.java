@@ -0,0 +1,230 @@
+package com.bookkeeping.dao;
+
+import com.bookkeeping.entity.AccountDailyBalance;
+import com.bookkeeping.util.DatabaseUtil;
+import com.bookkeeping.util.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import org.hibernate.Session;
+
+/**
+ * DAO class untuk rollup saldo harian per account (account_daily_balances)
+ */
+public class AccountDailyBalanceDAO {
+
+    private static volatile boolean initialized = false;
+
+    private static final String UPSERT_DAY_SQL =
+        "INSERT INTO account_daily_balances (account_id, balance_date, debit_sum, credit_sum, running_balance) " +
+        "VALUES (?, ?, ?, ?, 0) " +
+        "ON CONFLICT (account_id, balance_date) DO UPDATE SET " +
+        "debit_sum = debit_sum + excluded.debit_sum, credit_sum = credit_sum + excluded.credit_sum";
+
+    // Running balance = saldo terakhir sebelum fromDate + kumulatif mutasi mulai fromDate
+    private static final String RECOMPUTE_RUNNING_SQL =
+        "UPDATE account_daily_balances SET running_balance = r.opening + r.cumulative " +
+        "FROM (SELECT d.id AS id, " +
+        "COALESCE((SELECT p.running_balance FROM account_daily_balances p WHERE p.account_id = d.account_id " +
+        "AND p.balance_date < ?2 ORDER BY p.balance_date DESC LIMIT 1), 0) AS opening, " +
+        "SUM(d.debit_sum - d.credit_sum) OVER (ORDER BY d.balance_date) AS cumulative " +
+        "FROM account_daily_balances d WHERE d.account_id = ?1 AND d.balance_date >= ?2) r " +
+        "WHERE account_daily_balances.id = r.id";
+
+    /**
+     * Menerapkan mutasi ke rollup harian memakai EntityManager dan transaksi milik caller.
+     * Baris (account, tanggal) dibuat bila belum ada, lalu running balance semua tanggal
+     * sesudahnya digeser sebesar mutasi bersih.
+     */
+    public void applyDelta(EntityManager em, Long accountId, LocalDate date, BigDecimal debitAmount, BigDecimal creditAmount) {
+        BigDecimal debit = debitAmount != null ? debitAmount : BigDecimal.ZERO;
+        BigDecimal credit = creditAmount != null ? creditAmount : BigDecimal.ZERO;
+        BigDecimal net = debit.subtract(credit);
+
+        TypedQuery<AccountDailyBalance> query = em.createQuery(
+            "SELECT d FROM AccountDailyBalance d WHERE d.accountId = :accountId AND d.balanceDate = :date",
+            AccountDailyBalance.class);
+        query.setParameter("accountId", accountId);
+        query.setParameter("date", date);
+        List<AccountDailyBalance> results = query.getResultList();
+
+        if (results.isEmpty()) {
+            AccountDailyBalance daily = new AccountDailyBalance(accountId, date, findRunningBalanceBefore(em, accountId, date));
+            daily.applyDelta(debit, credit);
+            em.persist(daily);
+        } else {
+            results.get(0).applyDelta(debit, credit);
+        }
+
+        if (net.compareTo(BigDecimal.ZERO) != 0) {
+            em.createQuery(
+                "UPDATE AccountDailyBalance d SET d.runningBalance = d.runningBalance + :net " +
+                "WHERE d.accountId = :accountId AND d.balanceDate > :date")
+                .setParameter("net", net)
+                .setParameter("accountId", accountId)
+                .setParameter("date", date)
+                .executeUpdate();
+        }
+    }
+
+    /**
+     * Menerapkan mutasi banyak (account, tanggal) sekaligus memakai transaksi milik caller
+     * (dipakai bulk import). Baris harian di-upsert dengan JDBC batch, lalu running balance
+     * setiap account dihitung ulang sekali mulai dari tanggal paling awal yang berubah.
+     */
+    public void applyDeltas(EntityManager em, Map<Long, ? extends SortedMap<LocalDate, DailyDelta>> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        em.flush();
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement upsert = connection.prepareStatement(UPSERT_DAY_SQL)) {
+                for (Map.Entry<Long, ? extends SortedMap<LocalDate, DailyDelta>> account : deltas.entrySet()) {
+                    for (Map.Entry<LocalDate, DailyDelta> day : account.getValue().entrySet()) {
+                        upsert.setLong(1, account.getKey());
+                        upsert.setDate(2, java.sql.Date.valueOf(day.getKey()));
+                        upsert.setBigDecimal(3, day.getValue().getDebit());
+                        upsert.setBigDecimal(4, day.getValue().getCredit());
+                        upsert.addBatch();
+                    }
+                }
+                upsert.executeBatch();
+            }
+
+            try (PreparedStatement recompute = connection.prepareStatement(RECOMPUTE_RUNNING_SQL)) {
+                for (Map.Entry<Long, ? extends SortedMap<LocalDate, DailyDelta>> account : deltas.entrySet()) {
+                    java.sql.Date fromDate = java.sql.Date.valueOf(account.getValue().firstKey());
+                    recompute.setLong(1, account.getKey());
+                    recompute.setDate(2, fromDate);
+                    recompute.addBatch();
+                }
+                recompute.executeBatch();
+            }
+        });
+    }
+
+    private BigDecimal findRunningBalanceBefore(EntityManager em, Long accountId, LocalDate date) {
+        TypedQuery<BigDecimal> query = em.createQuery(
+            "SELECT d.runningBalance FROM AccountDailyBalance d " +
+            "WHERE d.accountId = :accountId AND d.balanceDate < :date " +
+            "ORDER BY d.balanceDate DESC", BigDecimal.class);
+        query.setParameter("accountId", accountId);
+        query.setParameter("date", date);
+        query.setMaxResults(1);
+        List<BigDecimal> results = query.getResultList();
+        return results.isEmpty() ? BigDecimal.ZERO : results.get(0);
+    }
+
+    /**
+     * Mendapatkan running balance (debit - credit) semua account per tanggal tertentu.
+     * Satu query; setiap account dicari lewat index unik (account_id, balance_date).
+     */
+    public Map<Long, BigDecimal> findRunningBalancesAsOf(LocalDate asOfDate) {
+        ensureInitialized();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            TypedQuery<Object[]> query = em.createQuery(
+                "SELECT d.accountId, d.runningBalance FROM AccountDailyBalance d " +
+                "WHERE d.balanceDate = (SELECT MAX(d2.balanceDate) FROM AccountDailyBalance d2 " +
+                "WHERE d2.accountId = d.accountId AND d2.balanceDate <= :asOfDate)", Object[].class);
+            query.setParameter("asOfDate", asOfDate);
+
+            Map<Long, BigDecimal> balances = new HashMap<>();
+            for (Object[] row : query.getResultList()) {
+                balances.put((Long) row[0], (BigDecimal) row[1]);
+            }
+            return balances;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Membangun ulang seluruh rollup dari transaction_entries
+     */
+    public void rebuild() {
+        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+
+        try {
+            transaction.begin();
+            em.createQuery("DELETE FROM AccountDailyBalance").executeUpdate();
+            em.createNativeQuery(
+                "INSERT INTO account_daily_balances (account_id, balance_date, debit_sum, credit_sum, running_balance) " +
+                "SELECT account_id, balance_date, debit_sum, credit_sum, " +
+                "SUM(debit_sum - credit_sum) OVER (PARTITION BY account_id ORDER BY balance_date) " +
+                "FROM (SELECT te.account_id AS account_id, t.transaction_date AS balance_date, " +
+                "COALESCE(SUM(te.debit_amount), 0) AS debit_sum, COALESCE(SUM(te.credit_amount), 0) AS credit_sum " +
+                "FROM transaction_entries te JOIN transactions t ON t.id = te.transaction_id " +
+                "GROUP BY te.account_id, t.transaction_date)")
+                .executeUpdate();
+            transaction.commit();
+        } catch (Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Error rebuilding daily balances: " + e.getMessage(), e);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Membangun rollup sekali per JVM bila tabel masih kosong tetapi sudah ada entries
+     * (database lama yang dibuat sebelum rollup ada). Harus dipanggil sebelum posting
+     * pertama agar entry baru tidak terhitung dua kali.
+     */
+    public void ensureInitialized() {
+        if (initialized) {
+            return;
+        }
+        synchronized (AccountDailyBalanceDAO.class) {
+            if (initialized) {
+                return;
+            }
+            EntityManager em = DatabaseUtil.getEntityManager();
+            boolean needsRebuild;
+            try {
+                boolean hasRollup = !em.createQuery("SELECT d.id FROM AccountDailyBalance d", Long.class)
+                    .setMaxResults(1).getResultList().isEmpty();
+                boolean hasEntries = !em.createQuery("SELECT te.id FROM TransactionEntry te", Long.class)
+                    .setMaxResults(1).getResultList().isEmpty();
+                needsRebuild = !hasRollup && hasEntries;
+            } finally {
+                em.close();
+            }
+            if (needsRebuild) {
+                rebuild();
+            }
+            initialized = true;
+        }
+    }
+
+    /**
+     * Jumlah mutasi debit/credit satu account pada satu tanggal (satuan minor, lihat Money)
+     */
+    public static class DailyDelta {
+        private long debit;
+        private long credit;
+
+        public void add(long debitMinor, long creditMinor) {
+            debit = Money.add(debit, debitMinor);
+            credit = Money.add(credit, creditMinor);
+        }
+
+        public BigDecimal getDebit() {
+            return Money.toBigDecimal(debit);
+        }
+
+        public BigDecimal getCredit() {
+            return Money.toBigDecimal(credit);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.bookkeeping.dao;
+
+import com.bookkeeping.entity.ImportLog;
+import com.bookkeeping.util.DatabaseUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DAO class untuk ImportLog entity
+ */
+public class ImportLogDAO {
+
+    /**
+     * Mengambil log import untuk isi file ini, atau membuat log baru (offset 0) bila belum ada.
+     * Nama file diperbarui bila file yang sama di-import dari path lain.
+     */
+    public ImportLog findOrCreate(String fileName, String contentHash, long fileSize) {
+        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+
+        try {
+            transaction.begin();
+
+            ImportLog log = findByContentHash(em, contentHash).orElse(null);
+            if (log == null) {
+                log = new ImportLog(fileName, contentHash, fileSize);
+                em.persist(log);
+            } else {
+                log.setFileName(fileName);
+            }
+
+            transaction.commit();
+            return log;
+        } catch (Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Error starting import log: " + e.getMessage(), e);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Mencari log import berdasarkan hash isi file memakai EntityManager milik caller
+     */
+    private Optional<ImportLog> findByContentHash(EntityManager em, String contentHash) {
+        TypedQuery<ImportLog> query = em.createQuery(
+            "SELECT l FROM ImportLog l WHERE l.contentHash = :contentHash", ImportLog.class);
+        query.setParameter("contentHash", contentHash);
+
+        List<ImportLog> results = query.getResultList();
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    }
+
+    /**
+     * Memajukan checkpoint dengan EntityManager (dan database transaction) milik caller,
+     * sehingga checkpoint ter-commit atau ter-rollback bersama batch yang ditulis
+     */
+    public void checkpoint(EntityManager em, Checkpoint checkpoint, int importedTransactions) {
+        int updated = em.createQuery(
+            "UPDATE ImportLog l SET l.committedOffset = :offset, l.committedLines = :lines, " +
+            "l.lastReference = :reference, l.importedTransactions = l.importedTransactions + :imported, " +
+            "l.status = :status, l.updatedAt = :now WHERE l.id = :id")
+            .setParameter("offset", checkpoint.getOffset())
+            .setParameter("lines", checkpoint.getLines())
+            .setParameter("reference", checkpoint.getLastReference())
+            .setParameter("imported", (long) importedTransactions)
+            .setParameter("status", checkpoint.isCompleted() ? ImportLog.Status.COMPLETED : ImportLog.Status.IN_PROGRESS)
+            .setParameter("now", LocalDateTime.now())
+            .setParameter("id", checkpoint.getImportLogId())
+            .executeUpdate();
+
+        if (updated == 0) {
+            throw new IllegalArgumentException("Import log not found with ID: " + checkpoint.getImportLogId());
+        }
+    }
+
+    /**
+     * Posisi file setelah sebuah batch: offset dan jumlah baris sampai akhir journal terakhir
+     */
+    public static class Checkpoint {
+        private final Long importLogId;
+        private final long offset;
+        private final long lines;
+        private final String lastReference;
+        private final boolean completed;
+
+        public Checkpoint(Long importLogId, long offset, long lines, String lastReference, boolean completed) {
+            this.importLogId = importLogId;
+            this.offset = offset;
+            this.lines = lines;
+            this.lastReference = lastReference;
+            this.completed = completed;
+        }
+
+        public Long getImportLogId() {
+            return importLogId;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getLines() {
+            return lines;
+        }
+
+        public String getLastReference() {
+            return lastReference;
+        }
+
+        public boolean isCompleted() {
+            return completed;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bookkeeping.dao;
+
+import com.bookkeeping.entity.NumberSequence;
+import com.bookkeeping.util.DatabaseUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import java.util.function.Function;
+
+/**
+ * DAO class untuk NumberSequence entity
+ */
+public class NumberSequenceDAO {
+
+    /**
+     * Mengambil satu blok nilai [start, start + blockSize) dari sequence dalam transaksi sendiri.
+     * Bila sequence belum ada, nilai awal dihitung oleh initialValue (dengan EntityManager
+     * yang sama) lalu sequence dibuat.
+     */
+    public long allocateBlock(String name, int blockSize, Function<EntityManager, Long> initialValue) {
+        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+
+        try {
+            transaction.begin();
+
+            // UPDATE dulu agar write lock diambil sebelum membaca nilai (aman lintas proses)
+            int updated = em.createQuery(
+                "UPDATE NumberSequence s SET s.nextValue = s.nextValue + :blockSize WHERE s.name = :name")
+                .setParameter("blockSize", (long) blockSize)
+                .setParameter("name", name)
+                .executeUpdate();
+
+            long start;
+            if (updated == 0) {
+                start = initialValue.apply(em);
+                em.persist(new NumberSequence(name, start + blockSize));
+            } else {
+                start = em.find(NumberSequence.class, name).getNextValue() - blockSize;
+            }
+
+            transaction.commit();
+            return start;
+        } catch (Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Error allocating sequence block: " + e.getMessage(), e);
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.bookkeeping.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.hibernate.Session;
+
+import com.bookkeeping.entity.Account;
+import com.bookkeeping.entity.Transaction;
+import com.bookkeeping.entity.TransactionEntry;
+import com.bookkeeping.util.BalanceLedger;
+import com.bookkeeping.util.DatabaseUtil;
+import com.bookkeeping.util.MoneyAccumulator;
+import com.bookkeeping.util.TransactionNumberAllocator;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+
+/**
+ * DAO class untuk insert transaksi secara batch (bulk import).
+ * Header dan entries ditulis lewat JDBC batch dengan ID yang ditentukan di sini,
+ * karena Hibernate tidak bisa mem-batch insert untuk ID IDENTITY.
+ */
+public class TransactionBatchDAO {
+
+    private static final String INSERT_TRANSACTION_SQL =
+        "INSERT INTO transactions (id, transaction_number, transaction_date, description, reference, " +
+        "total_amount, import_fingerprint, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ENTRY_SQL =
+        "INSERT INTO transaction_entries (id, transaction_id, account_id, debit_amount, credit_amount, description) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final AccountDailyBalanceDAO dailyBalanceDAO = new AccountDailyBalanceDAO();
+    private final ImportLogDAO importLogDAO = new ImportLogDAO();
+
+    /**
+     * Menyimpan sekumpulan transaksi yang sudah divalidasi dalam satu database transaction:
+     * insert header dan entries secara batch, lalu rollup harian diperbarui sekali per
+     * account/tanggal untuk seluruh batch. Mutasi balance per account diserahkan ke
+     * BalanceLedger setelah commit.
+     * Account pada setiap entry cukup berisi ID.
+     */
+    public int insertBatch(List<Transaction> transactions) {
+        return insertBatch(transactions, null);
+    }
+
+    /**
+     * Sama dengan insertBatch, ditambah checkpoint import log yang diperbarui dalam database
+     * transaction yang sama: checkpoint hanya maju bila seluruh batch ter-commit.
+     * Batch kosong tetap memajukan checkpoint (mis. akhir file setelah journal yang dilewati).
+     */
+    public int insertBatch(List<Transaction> transactions, ImportLogDAO.Checkpoint checkpoint) {
+        if (transactions.isEmpty() && checkpoint == null) {
+            return 0;
+        }
+
+        // Nomor diambil sekaligus, sebelum connection writer dipakai
+        List<Transaction> unnumbered = transactions.stream()
+            .filter(transaction -> transaction.getTransactionNumber() == null)
+            .toList();
+        List<String> numbers = TransactionNumberAllocator.nextNumbers(unnumbered.size());
+        for (int i = 0; i < unnumbered.size(); i++) {
+            unnumbered.get(i).setTransactionNumber(numbers.get(i));
+        }
+
+        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityTransaction dbTransaction = em.getTransaction();
+
+        try {
+            dbTransaction.begin();
+
+            Map<Long, MoneyAccumulator> balanceDeltas = new HashMap<>();
+            if (!transactions.isEmpty()) {
+                Map<Long, Account> accounts = findAccounts(em, transactions);
+                em.unwrap(Session.class).doWork(connection -> insertRows(connection, transactions));
+                balanceDeltas = applyBalanceDeltas(em, accounts, transactions);
+            }
+            if (checkpoint != null) {
+                importLogDAO.checkpoint(em, checkpoint, transactions.size());
+            }
+
+            dbTransaction.commit();
+            // Balance account ditulis oleh BalanceLedger (write-behind) setelah batch ter-commit
+            balanceDeltas.forEach((accountId, delta) -> BalanceLedger.add(accountId, delta.get()));
+            return transactions.size();
+        } catch (Exception e) {
+            if (dbTransaction.isActive()) {
+                dbTransaction.rollback();
+            }
+            // ID yang sempat diberikan tidak berlaku setelah rollback
+            for (Transaction transaction : transactions) {
+                transaction.setId(null);
+                transaction.getEntries().forEach(entry -> entry.setId(null));
+            }
+            throw new RuntimeException("Error inserting transaction batch: " + e.getMessage(), e);
+        } finally {
+            em.close();
+        }
+    }
+
+    private Map<Long, Account> findAccounts(EntityManager em, List<Transaction> transactions) {
+        Set<Long> accountIds = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            for (TransactionEntry entry : transaction.getEntries()) {
+                accountIds.add(entry.getAccount().getId());
+            }
+        }
+
+        Map<Long, Account> accounts = new HashMap<>();
+        for (Account account : em.createQuery("SELECT a FROM Account a WHERE a.id IN :ids", Account.class)
+                .setParameter("ids", accountIds)
+                .getResultList()) {
+            accounts.put(account.getId(), account);
+        }
+
+        for (Long accountId : accountIds) {
+            if (!accounts.containsKey(accountId)) {
+                throw new IllegalArgumentException("Account not found with ID: " + accountId);
+            }
+        }
+        return accounts;
+    }
+
+    private void insertRows(Connection connection, List<Transaction> transactions) throws SQLException {
+        long nextTransactionId = findMaxId(connection, "transactions") + 1;
+        long nextEntryId = findMaxId(connection, "transaction_entries") + 1;
+
+        try (PreparedStatement transactionStatement = connection.prepareStatement(INSERT_TRANSACTION_SQL);
+             PreparedStatement entryStatement = connection.prepareStatement(INSERT_ENTRY_SQL)) {
+
+            for (Transaction transaction : transactions) {
+                transaction.setId(nextTransactionId++);
+                transactionStatement.setLong(1, transaction.getId());
+                transactionStatement.setString(2, transaction.getTransactionNumber());
+                transactionStatement.setDate(3, java.sql.Date.valueOf(transaction.getTransactionDate()));
+                transactionStatement.setString(4, transaction.getDescription());
+                transactionStatement.setString(5, transaction.getReference());
+                transactionStatement.setBigDecimal(6, transaction.getTotalAmount());
+                transactionStatement.setObject(7, transaction.getImportFingerprint(), Types.BIGINT);
+                transactionStatement.setTimestamp(8, Timestamp.valueOf(transaction.getCreatedAt()));
+                transactionStatement.setTimestamp(9, Timestamp.valueOf(transaction.getUpdatedAt()));
+                transactionStatement.addBatch();
+
+                for (TransactionEntry entry : transaction.getEntries()) {
+                    entry.setId(nextEntryId++);
+                    entryStatement.setLong(1, entry.getId());
+                    entryStatement.setLong(2, transaction.getId());
+                    entryStatement.setLong(3, entry.getAccount().getId());
+                    entryStatement.setBigDecimal(4, entry.getDebitAmount());
+                    entryStatement.setBigDecimal(5, entry.getCreditAmount());
+                    entryStatement.setString(6, entry.getDescription());
+                    entryStatement.addBatch();
+                }
+            }
+
+            // Entries lebih dulu (foreign key tidak di-enforce di SQLite ini): trigger insert
+            // transactions lalu mengisi index full-text dengan description semua entry sekaligus,
+            // satu tulis per journal alih-alih satu update per entry (lihat DatabaseUtil)
+            entryStatement.executeBatch();
+            transactionStatement.executeBatch();
+        }
+    }
+
+    private long findMaxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Mutasi dijumlahkan dulu per account dan per (account, tanggal), sehingga satu batch
+     * hanya menghasilkan satu delta balance per account dan satu upsert rollup per hari.
+     * Mengembalikan delta balance per account (belum ditulis).
+     */
+    private Map<Long, MoneyAccumulator> applyBalanceDeltas(EntityManager em, Map<Long, Account> accounts,
+                                                           List<Transaction> transactions) {
+        Map<Long, MoneyAccumulator> balanceDeltas = new HashMap<>();
+        Map<Long, TreeMap<LocalDate, AccountDailyBalanceDAO.DailyDelta>> dailyDeltas = new HashMap<>();
+
+        for (Transaction transaction : transactions) {
+            for (TransactionEntry entry : transaction.getEntries()) {
+                Account account = accounts.get(entry.getAccount().getId());
+                balanceDeltas.computeIfAbsent(account.getId(), id -> new MoneyAccumulator())
+                    .add(account.normalDeltaMinor(entry.getDebitMinor(), entry.getCreditMinor()));
+
+                dailyDeltas.computeIfAbsent(account.getId(), id -> new TreeMap<>())
+                    .computeIfAbsent(transaction.getTransactionDate(), date -> new AccountDailyBalanceDAO.DailyDelta())
+                    .add(entry.getDebitMinor(), entry.getCreditMinor());
+            }
+        }
+
+        dailyBalanceDAO.applyDeltas(em, dailyDeltas);
+        return balanceDeltas;
+    }
+}
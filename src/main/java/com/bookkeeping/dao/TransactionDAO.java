@@ -1,21 +1,45 @@
 package com.bookkeeping.dao;
 
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
 
+import com.bookkeeping.entity.Account;
 import com.bookkeeping.entity.Transaction;
+import com.bookkeeping.entity.TransactionEntry;
+import com.bookkeeping.util.BalanceLedger;
 import com.bookkeeping.util.DatabaseUtil;
+import com.bookkeeping.util.TransactionNumberAllocator;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
 
+import org.hibernate.Session;
+
 /**
  * DAO class untuk Transaction entity
  */
 public class TransactionDAO {
     
+    private static final int FINGERPRINT_FETCH_SIZE = 10000;
+    // Batas hasil findByDescriptionContaining; id hasil dimuat lewat satu IN list
+    private static final int SEARCH_RESULT_LIMIT = 500;
+    
+    private final AccountDailyBalanceDAO dailyBalanceDAO = new AccountDailyBalanceDAO();
+    
     /**
      * Menyimpan transaction baru atau update existing transaction
      */
@@ -81,7 +105,7 @@ public class TransactionDAO {
      * Mendapatkan semua transactions
      */
     public List<Transaction> findAll() {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<Transaction> query = em.createQuery(
                 "SELECT t FROM Transaction t LEFT JOIN FETCH t.entries ORDER BY t.transactionDate DESC, t.transactionNumber DESC", Transaction.class);
@@ -91,11 +115,176 @@ public class TransactionDAO {
         }
     }
     
+    /**
+     * Mengambil satu halaman transaksi (tanpa entries) untuk grid, urut tanggal dan nomor terbaru.
+     * Filter tanggal dijalankan di SQL, dan halaman berikutnya dimulai setelah baris terakhir
+     * halaman sebelumnya (keyset pagination pada transaction_date, transaction_number) sehingga
+     * tidak memakai OFFSET. Bila ada teks pencarian, hasil diambil dari index full-text dan
+     * diurutkan berdasarkan relevansi (lihat searchPage).
+     *
+     * @param date filter tanggal, null untuk semua tanggal
+     * @param searchText teks pencarian, null atau kosong untuk semua transaksi
+     * @param after baris terakhir halaman sebelumnya, null untuk halaman pertama
+     */
+    public List<Transaction> findPage(LocalDate date, String searchText, Transaction after, int pageSize) {
+        String matchQuery = toMatchQuery(searchText);
+        if (matchQuery != null) {
+            return searchPage(date, matchQuery, after, pageSize);
+        }
+        
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            StringBuilder jpql = new StringBuilder("SELECT t FROM Transaction t WHERE 1 = 1");
+            if (date != null) {
+                jpql.append(" AND t.transactionDate = :date");
+            }
+            if (after != null) {
+                jpql.append(" AND (t.transactionDate < :afterDate OR " +
+                            "(t.transactionDate = :afterDate AND t.transactionNumber < :afterNumber))");
+            }
+            jpql.append(" ORDER BY t.transactionDate DESC, t.transactionNumber DESC");
+            
+            TypedQuery<Transaction> query = em.createQuery(jpql.toString(), Transaction.class);
+            if (date != null) {
+                query.setParameter("date", date);
+            }
+            if (after != null) {
+                query.setParameter("afterDate", after.getTransactionDate());
+                query.setParameter("afterNumber", after.getTransactionNumber());
+            }
+            query.setMaxResults(pageSize);
+            return query.getResultList();
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Satu halaman hasil pencarian full-text (transaction number, description, reference dan
+     * description entries), urut relevansi bm25 lalu ID. Halaman berikutnya dimulai setelah
+     * (searchRank, id) baris terakhir, jadi tetap tanpa OFFSET.
+     */
+    private List<Transaction> searchPage(LocalDate date, String matchQuery, Transaction after, int pageSize) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT transaction_search.rowid, transaction_search.rank FROM transaction_search");
+        List<Object> parameters = new ArrayList<>();
+        if (date != null) {
+            sql.append(" JOIN transactions t ON t.id = transaction_search.rowid");
+        }
+        sql.append(" WHERE transaction_search MATCH ?");
+        parameters.add(matchQuery);
+        if (date != null) {
+            sql.append(" AND t.transaction_date = ?");
+            parameters.add(java.sql.Date.valueOf(date));
+        }
+        if (after != null) {
+            sql.append(" AND (transaction_search.rank > ? OR " +
+                       "(transaction_search.rank = ? AND transaction_search.rowid > ?))");
+            parameters.add(after.getSearchRank());
+            parameters.add(after.getSearchRank());
+            parameters.add(after.getId());
+        }
+        sql.append(" ORDER BY transaction_search.rank, transaction_search.rowid LIMIT ?");
+        parameters.add(pageSize);
+        
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            return loadRanked(em, findRanks(em, sql.toString(), parameters), false);
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Menjalankan query index full-text yang menghasilkan (rowid, rank) lewat JDBC langsung,
+     * karena native query Hibernate membaca rank sebagai float dan presisinya hilang
+     * (rank dipakai sebagai kunci halaman berikutnya)
+     */
+    private Map<Long, Double> findRanks(EntityManager em, String sql, List<Object> parameters) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            Map<Long, Double> ranks = new LinkedHashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        ranks.put(resultSet.getLong(1), resultSet.getDouble(2));
+                    }
+                }
+            }
+            return ranks;
+        });
+    }
+    
+    /**
+     * Memuat transaksi untuk hasil findRanks dengan urutan yang sama, dan mengisi searchRank
+     * setiap transaksi
+     */
+    private List<Transaction> loadRanked(EntityManager em, Map<Long, Double> ranks, boolean fetchEntries) {
+        if (ranks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        TypedQuery<Transaction> query = em.createQuery(
+            fetchEntries ? "SELECT DISTINCT t FROM Transaction t LEFT JOIN FETCH t.entries WHERE t.id IN :ids"
+                         : "SELECT t FROM Transaction t WHERE t.id IN :ids", Transaction.class);
+        query.setParameter("ids", ranks.keySet());
+        Map<Long, Transaction> transactions = new HashMap<>();
+        for (Transaction transaction : query.getResultList()) {
+            transactions.put(transaction.getId(), transaction);
+        }
+        
+        List<Transaction> result = new ArrayList<>(ranks.size());
+        for (Map.Entry<Long, Double> rank : ranks.entrySet()) {
+            Transaction transaction = transactions.get(rank.getKey());
+            if (transaction != null) {
+                transaction.setSearchRank(rank.getValue());
+                result.add(transaction);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Mengubah teks pencarian user menjadi query FTS5: teks dalam tanda kutip dicari sebagai
+     * frasa, kata lainnya sebagai prefix ("kas bes" cocok dengan "Kas Besar"), dan semua
+     * bagian harus cocok. Mengembalikan null bila tidak ada kata yang bisa dicari.
+     */
+    private static String toMatchQuery(String searchText) {
+        if (searchText == null) {
+            return null;
+        }
+        
+        List<String> terms = new ArrayList<>();
+        String[] parts = searchText.split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            // Bagian ganjil ada di dalam tanda kutip (kutip terakhir tanpa pasangan tetap dianggap frasa)
+            if (i % 2 == 1) {
+                addTerm(terms, parts[i], false);
+            } else {
+                for (String word : parts[i].trim().split("\\s+")) {
+                    addTerm(terms, word, true);
+                }
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+    
+    private static void addTerm(List<String> terms, String text, boolean prefix) {
+        String term = text.trim();
+        // Term tanpa huruf/angka tidak menghasilkan token dan membuat query FTS5 tidak valid
+        if (term.codePoints().noneMatch(Character::isLetterOrDigit)) {
+            return;
+        }
+        terms.add("\"" + term + "\"" + (prefix ? "*" : ""));
+    }
+    
     /**
      * Mendapatkan transactions berdasarkan tanggal
      */
     public List<Transaction> findByDateRange(LocalDate startDate, LocalDate endDate) {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<Transaction> query = em.createQuery(
                 "SELECT t FROM Transaction t LEFT JOIN FETCH t.entries WHERE t.transactionDate >= :startDate AND t.transactionDate <= :endDate " +
@@ -112,7 +301,7 @@ public class TransactionDAO {
      * Mendapatkan transactions berdasarkan tanggal tertentu
      */
     public List<Transaction> findByDate(LocalDate date) {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<Transaction> query = em.createQuery(
                 "SELECT t FROM Transaction t LEFT JOIN FETCH t.entries WHERE t.transactionDate = :date " +
@@ -125,40 +314,151 @@ public class TransactionDAO {
     }
     
     /**
-     * Mencari transactions berdasarkan description (partial match)
+     * Mencari transactions lewat index full-text (description, reference, transaction number dan
+     * description entries), urut relevansi. Mendukung prefix dan frasa seperti findPage. Hanya
+     * SEARCH_RESULT_LIMIT hasil teratas yang dimuat beserta entries; hasil berikutnya lewat findPage.
      */
     public List<Transaction> findByDescriptionContaining(String description) {
+        return findByDescriptionContaining(description, SEARCH_RESULT_LIMIT);
+    }
+    
+    /**
+     * Sama dengan findByDescriptionContaining, dengan jumlah hasil maksimal sendiri
+     */
+    public List<Transaction> findByDescriptionContaining(String description, int limit) {
+        String matchQuery = toMatchQuery(description);
+        if (matchQuery == null) {
+            return new ArrayList<>();
+        }
+        
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            Map<Long, Double> ranks = findRanks(em,
+                "SELECT rowid, rank FROM transaction_search WHERE transaction_search MATCH ? ORDER BY rank, rowid LIMIT ?",
+                List.of(matchQuery, limit));
+            return loadRanked(em, ranks, true);
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Menambahkan satu entry ke transaksi yang sudah ada. Entry, rollup harian dan header ditulis
+     * dalam satu database transaction; perubahan balance account diserahkan ke BalanceLedger
+     * setelah commit. Account pada entry cukup berisi ID.
+     */
+    public Transaction addEntry(Long transactionId, TransactionEntry entry) {
+        Long accountId = entry.getAccount().getId();
         EntityManager em = DatabaseUtil.getEntityManager();
+        EntityTransaction dbTransaction = em.getTransaction();
+        Transaction transaction;
+        long balanceDelta;
+        
         try {
-            TypedQuery<Transaction> query = em.createQuery(
-                "SELECT t FROM Transaction t LEFT JOIN FETCH t.entries WHERE LOWER(t.description) LIKE LOWER(:description) " +
-                "ORDER BY t.transactionDate DESC, t.transactionNumber DESC", Transaction.class);
-            query.setParameter("description", "%" + description + "%");
-            return query.getResultList();
+            dbTransaction.begin();
+            
+            transaction = em.find(Transaction.class, transactionId);
+            if (transaction == null) {
+                throw new IllegalArgumentException("Transaction not found with ID: " + transactionId);
+            }
+            Account account = em.find(Account.class, accountId);
+            if (account == null) {
+                throw new IllegalArgumentException("Account not found with ID: " + accountId);
+            }
+            
+            entry.setAccount(account);
+            transaction.addEntry(entry);
+            dailyBalanceDAO.applyDelta(em, accountId, transaction.getTransactionDate(),
+                                       entry.getDebitAmount(), entry.getCreditAmount());
+            balanceDelta = account.normalDeltaMinor(entry.getDebitMinor(), entry.getCreditMinor());
+            
+            dbTransaction.commit();
+        } catch (Exception e) {
+            if (dbTransaction.isActive()) {
+                dbTransaction.rollback();
+            }
+            throw new RuntimeException("Error adding transaction entry: " + e.getMessage(), e);
+        } finally {
+            em.close();
+        }
+        
+        BalanceLedger.add(accountId, balanceDelta);
+        return transaction;
+    }
+    
+    /**
+     * Mengubah header transaksi. Bila tanggal berubah, mutasi rollup harian setiap entry
+     * dipindahkan ke tanggal baru dalam database transaction yang sama dengan update header.
+     * Balance account tidak berubah karena entries tetap sama.
+     */
+    public Optional<Transaction> update(Long id, String description, LocalDate transactionDate, String reference) {
+        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityTransaction dbTransaction = em.getTransaction();
+        
+        try {
+            dbTransaction.begin();
+            
+            Transaction transaction = em.find(Transaction.class, id);
+            if (transaction == null) {
+                dbTransaction.rollback();
+                return Optional.empty();
+            }
+            
+            LocalDate previousDate = transaction.getTransactionDate();
+            if (transactionDate != null && !transactionDate.equals(previousDate)) {
+                for (TransactionEntry entry : transaction.getEntries()) {
+                    Long accountId = entry.getAccount().getId();
+                    dailyBalanceDAO.applyDelta(em, accountId, previousDate,
+                                               negate(entry.getDebitAmount()), negate(entry.getCreditAmount()));
+                    dailyBalanceDAO.applyDelta(em, accountId, transactionDate,
+                                               entry.getDebitAmount(), entry.getCreditAmount());
+                }
+            }
+            
+            transaction.setDescription(description);
+            transaction.setTransactionDate(transactionDate);
+            transaction.setReference(reference);
+            
+            dbTransaction.commit();
+            return Optional.of(transaction);
+        } catch (Exception e) {
+            if (dbTransaction.isActive()) {
+                dbTransaction.rollback();
+            }
+            throw new RuntimeException("Error updating transaction: " + e.getMessage(), e);
         } finally {
             em.close();
         }
     }
     
     /**
-     * Menghapus transaction
+     * Menghapus transaction beserta entries-nya. Mutasi rollup harian dibalik dalam database
+     * transaction yang sama; reversal balance account diserahkan ke BalanceLedger setelah commit.
      */
     public boolean delete(Long id) {
         EntityManager em = DatabaseUtil.getEntityManager();
         EntityTransaction transaction = em.getTransaction();
+        Map<Long, Long> reversals = new HashMap<>();
         
         try {
             transaction.begin();
             
             Transaction transactionEntity = em.find(Transaction.class, id);
-            if (transactionEntity != null) {
-                em.remove(transactionEntity);
-                transaction.commit();
-                return true;
+            if (transactionEntity == null) {
+                transaction.rollback();
+                return false;
             }
             
-            transaction.rollback();
-            return false;
+            for (TransactionEntry entry : transactionEntity.getEntries()) {
+                Account account = entry.getAccount();
+                reversals.merge(account.getId(),
+                                -account.normalDeltaMinor(entry.getDebitMinor(), entry.getCreditMinor()), Math::addExact);
+                dailyBalanceDAO.applyDelta(em, account.getId(), transactionEntity.getTransactionDate(),
+                                           negate(entry.getDebitAmount()), negate(entry.getCreditAmount()));
+            }
+            
+            em.remove(transactionEntity);
+            transaction.commit();
         } catch (Exception e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -167,6 +467,13 @@ public class TransactionDAO {
         } finally {
             em.close();
         }
+        
+        reversals.forEach(BalanceLedger::add);
+        return true;
+    }
+    
+    private static BigDecimal negate(BigDecimal amount) {
+        return amount != null ? amount.negate() : null;
     }
     
     /**
@@ -185,41 +492,118 @@ public class TransactionDAO {
     }
     
     /**
-     * Generate transaction number otomatis
+     * Menghitung transaksi yang memiliki fingerprint import
      */
-    public String generateTransactionNumber() {
-        EntityManager em = DatabaseUtil.getEntityManager();
+    public long countImportFingerprints() {
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            return em.createQuery(
+                "SELECT COUNT(t) FROM Transaction t WHERE t.importFingerprint IS NOT NULL", Long.class)
+                .getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Men-stream semua fingerprint import yang sudah tersimpan ke consumer (untuk mengisi Bloom filter)
+     */
+    public void streamImportFingerprints(LongConsumer consumer) {
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
-            TypedQuery<String> query = em.createQuery(
-                "SELECT t.transactionNumber FROM Transaction t ORDER BY t.transactionNumber DESC", String.class);
-            query.setMaxResults(1);
+            TypedQuery<Long> query = em.createQuery(
+                "SELECT t.importFingerprint FROM Transaction t WHERE t.importFingerprint IS NOT NULL", Long.class);
+            query.setHint("org.hibernate.fetchSize", FINGERPRINT_FETCH_SIZE);
             
-            List<String> results = query.getResultList();
-            if (results.isEmpty()) {
-                return "TXN-000001";
+            try (Stream<Long> fingerprints = query.getResultStream()) {
+                fingerprints.forEach(consumer::accept);
             }
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Mencari fingerprint import mana saja yang sudah tersimpan dari sekumpulan fingerprint
+     */
+    public Set<Long> findExistingImportFingerprints(Collection<Long> fingerprints) {
+        if (fingerprints.isEmpty()) {
+            return Set.of();
+        }
+        
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            TypedQuery<Long> query = em.createQuery(
+                "SELECT t.importFingerprint FROM Transaction t WHERE t.importFingerprint IN :fingerprints", Long.class);
+            query.setParameter("fingerprints", fingerprints);
+            return new HashSet<>(query.getResultList());
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Generate transaction number otomatis dari allocator berbasis sequence
+     */
+    public String generateTransactionNumber() {
+        return TransactionNumberAllocator.nextNumber();
+    }
+    
+    /**
+     * Memposting transaksi lengkap (header, entries dan rollup harian) dalam satu EntityManager
+     * dan satu database transaction; perubahan balance account diserahkan ke BalanceLedger
+     * setelah commit. Entries harus sudah divalidasi oleh caller; account pada setiap entry
+     * cukup berisi ID dan akan di-resolve di sini. Bila transaction number kosong, nomor
+     * diambil dari allocator sebelum connection writer dipakai.
+     */
+    public Transaction post(Transaction transaction) {
+        if (transaction.getTransactionNumber() == null) {
+            transaction.setTransactionNumber(generateTransactionNumber());
+        }
+        
+        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityTransaction dbTransaction = em.getTransaction();
+        
+        try {
+            dbTransaction.begin();
             
-            String lastNumber = results.get(0);
-            if (lastNumber.startsWith("TXN-")) {
-                try {
-                    int number = Integer.parseInt(lastNumber.substring(4));
-                    return String.format("TXN-%06d", number + 1);
-                } catch (NumberFormatException e) {
-                    return "TXN-000001";
+            Map<Long, Account> accounts = new HashMap<>();
+            for (TransactionEntry entry : transaction.getEntries()) {
+                Long accountId = entry.getAccount().getId();
+                Account account = accounts.computeIfAbsent(accountId, id -> em.find(Account.class, id));
+                if (account == null) {
+                    throw new IllegalArgumentException("Account not found with ID: " + accountId);
                 }
+                entry.setAccount(account);
+                dailyBalanceDAO.applyDelta(em, accountId, transaction.getTransactionDate(),
+                                           entry.getDebitAmount(), entry.getCreditAmount());
             }
             
-            return "TXN-000001";
+            em.persist(transaction);
+            
+            dbTransaction.commit();
+        } catch (Exception e) {
+            if (dbTransaction.isActive()) {
+                dbTransaction.rollback();
+            }
+            throw new RuntimeException("Error posting transaction: " + e.getMessage(), e);
         } finally {
             em.close();
         }
+        
+        // Journal sudah ter-commit; balance account ditulis oleh BalanceLedger (write-behind)
+        for (TransactionEntry entry : transaction.getEntries()) {
+            BalanceLedger.add(entry.getAccount().getId(),
+                              entry.getAccount().normalDeltaMinor(entry.getDebitMinor(), entry.getCreditMinor()));
+        }
+        return transaction;
     }
     
     /**
      * Mendapatkan transactions dengan limit
      */
     public List<Transaction> findRecentTransactions(int limit) {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<Transaction> query = em.createQuery(
                 "SELECT t FROM Transaction t LEFT JOIN FETCH t.entries ORDER BY t.transactionDate DESC, t.transactionNumber DESC", Transaction.class);
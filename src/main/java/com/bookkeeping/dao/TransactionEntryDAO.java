@@ -2,19 +2,39 @@ package com.bookkeeping.dao;
 
 import com.bookkeeping.entity.TransactionEntry;
 import com.bookkeeping.util.DatabaseUtil;
+import com.bookkeeping.util.Money;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.hibernate.Session;
 
 /**
  * DAO class untuk TransactionEntry entity
  */
 public class TransactionEntryDAO {
     
+    private static final int STREAM_FETCH_SIZE = 1000;
+    
+    private static final String STREAM_AMOUNTS_SQL =
+        "SELECT te.account_id, t.transaction_date, te.debit_amount, te.credit_amount " +
+        "FROM transaction_entries te JOIN transactions t ON t.id = te.transaction_id " +
+        "WHERE t.transaction_date <= ?";
+    
+    private static final String STREAM_LEDGER_SQL =
+        "SELECT t.transaction_date, t.transaction_number, COALESCE(te.description, t.description), " +
+        "te.debit_amount, te.credit_amount " +
+        "FROM transaction_entries te JOIN transactions t ON t.id = te.transaction_id " +
+        "WHERE te.account_id = ? AND t.transaction_date >= ? AND t.transaction_date <= ? " +
+        "ORDER BY t.transaction_date, t.transaction_number, te.id";
+    
     /**
      * Menyimpan transaction entry baru atau update existing entry
      */
@@ -60,7 +80,7 @@ public class TransactionEntryDAO {
      * Mendapatkan semua entries untuk transaction tertentu
      */
     public List<TransactionEntry> findByTransactionId(Long transactionId) {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<TransactionEntry> query = em.createQuery(
                 "SELECT te FROM TransactionEntry te WHERE te.transaction.id = :transactionId", TransactionEntry.class);
@@ -75,7 +95,7 @@ public class TransactionEntryDAO {
      * Mendapatkan semua entries untuk account tertentu
      */
     public List<TransactionEntry> findByAccountId(Long accountId) {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<TransactionEntry> query = em.createQuery(
                 "SELECT te FROM TransactionEntry te " +
@@ -93,7 +113,7 @@ public class TransactionEntryDAO {
      * Mendapatkan entries untuk account dalam periode tertentu
      */
     public List<TransactionEntry> findByAccountIdAndDateRange(Long accountId, LocalDate startDate, LocalDate endDate) {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<TransactionEntry> query = em.createQuery(
                 "SELECT te FROM TransactionEntry te " +
@@ -115,7 +135,7 @@ public class TransactionEntryDAO {
      * Mendapatkan semua debit entries
      */
     public List<TransactionEntry> findDebitEntries() {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<TransactionEntry> query = em.createQuery(
                 "SELECT te FROM TransactionEntry te " +
@@ -132,7 +152,7 @@ public class TransactionEntryDAO {
      * Mendapatkan semua credit entries
      */
     public List<TransactionEntry> findCreditEntries() {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<TransactionEntry> query = em.createQuery(
                 "SELECT te FROM TransactionEntry te " +
@@ -149,7 +169,7 @@ public class TransactionEntryDAO {
      * Menghitung total debit untuk account tertentu
      */
     public BigDecimal calculateTotalDebitForAccount(Long accountId) {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<BigDecimal> query = em.createQuery(
                 "SELECT COALESCE(SUM(te.debitAmount), 0) FROM TransactionEntry te " +
@@ -165,7 +185,7 @@ public class TransactionEntryDAO {
      * Menghitung total credit untuk account tertentu
      */
     public BigDecimal calculateTotalCreditForAccount(Long accountId) {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<BigDecimal> query = em.createQuery(
                 "SELECT COALESCE(SUM(te.creditAmount), 0) FROM TransactionEntry te " +
@@ -186,6 +206,152 @@ public class TransactionEntryDAO {
         return totalDebit.subtract(totalCredit);
     }
     
+    /**
+     * Menghitung total debit dan credit untuk semua account dalam satu query (GROUP BY account)
+     */
+    public Map<Long, AccountTotals> calculateTotalsForAllAccounts() {
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            TypedQuery<Object[]> query = em.createQuery(
+                "SELECT te.account.id, COALESCE(SUM(te.debitAmount), 0), COALESCE(SUM(te.creditAmount), 0) " +
+                "FROM TransactionEntry te " +
+                "GROUP BY te.account.id", Object[].class);
+            return toAccountTotalsMap(query.getResultList());
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Menghitung total debit dan credit semua account sampai tanggal tertentu (inklusif).
+     * Join ke transactions.transaction_date memakai index (transaction_date, id) sehingga
+     * hanya baris sampai tanggal tersebut yang dibaca.
+     */
+    public Map<Long, AccountTotals> calculateTotalsForAllAccountsAsOf(LocalDate asOfDate) {
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            TypedQuery<Object[]> query = em.createQuery(
+                "SELECT te.account.id, COALESCE(SUM(te.debitAmount), 0), COALESCE(SUM(te.creditAmount), 0) " +
+                "FROM TransactionEntry te " +
+                "JOIN te.transaction t " +
+                "WHERE t.transactionDate <= :asOfDate " +
+                "GROUP BY te.account.id", Object[].class);
+            query.setParameter("asOfDate", asOfDate);
+            return toAccountTotalsMap(query.getResultList());
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Menghitung total debit dan credit semua account dalam periode tertentu (inklusif)
+     */
+    public Map<Long, AccountTotals> calculateTotalsForAllAccountsInPeriod(LocalDate startDate, LocalDate endDate) {
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            TypedQuery<Object[]> query = em.createQuery(
+                "SELECT te.account.id, COALESCE(SUM(te.debitAmount), 0), COALESCE(SUM(te.creditAmount), 0) " +
+                "FROM TransactionEntry te " +
+                "JOIN te.transaction t " +
+                "WHERE t.transactionDate >= :startDate AND t.transactionDate <= :endDate " +
+                "GROUP BY te.account.id", Object[].class);
+            query.setParameter("startDate", startDate);
+            query.setParameter("endDate", endDate);
+            return toAccountTotalsMap(query.getResultList());
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Men-stream amount semua entry sampai endDate (inklusif) ke consumer, beserta penanda
+     * apakah entry masuk periode mulai periodStart. Dibaca langsung dari cursor JDBC sebagai
+     * primitive (amount satuan minor, lihat Money): tidak ada entity, Object[], BigDecimal
+     * maupun LocalDate per baris.
+     */
+    public void streamAmountsUpTo(LocalDate periodStart, LocalDate endDate, AmountConsumer consumer) {
+        // Tanggal disimpan SQLite sebagai epoch millis java.sql.Date (lihat TransactionBatchDAO)
+        long periodStartMillis = java.sql.Date.valueOf(periodStart).getTime();
+        
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            em.unwrap(Session.class).doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(STREAM_AMOUNTS_SQL)) {
+                    statement.setDate(1, java.sql.Date.valueOf(endDate));
+                    statement.setFetchSize(STREAM_FETCH_SIZE);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            consumer.accept(rs.getLong(1), 
+                                            Money.fromDouble(rs.getDouble(3)), 
+                                            Money.fromDouble(rs.getDouble(4)), 
+                                            rs.getLong(2) >= periodStartMillis);
+                        }
+                    }
+                }
+            });
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Men-stream entries periode tertentu (inklusif) untuk General Ledger: per account sesuai urutan
+     * accountIds, lalu urut (tanggal, nomor transaksi). Semua account dibaca dengan satu connection
+     * dan satu prepared statement di dalam satu read transaction, sehingga hasilnya satu snapshot
+     * yang konsisten. Baris dibaca dari cursor JDBC satu per satu (tidak ada List maupun entity).
+     */
+    public void streamLedgerEntries(List<Long> accountIds, LocalDate startDate, LocalDate endDate, 
+                                    LedgerEntryConsumer consumer) {
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
+        try {
+            em.unwrap(Session.class).doWork(connection -> {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (PreparedStatement statement = connection.prepareStatement(STREAM_LEDGER_SQL)) {
+                    statement.setDate(2, java.sql.Date.valueOf(startDate));
+                    statement.setDate(3, java.sql.Date.valueOf(endDate));
+                    statement.setFetchSize(STREAM_FETCH_SIZE);
+                    
+                    // Entries berurutan tanggal: LocalDate dipakai ulang selama tanggalnya sama
+                    long lastDateMillis = Long.MIN_VALUE;
+                    LocalDate lastDate = null;
+                    for (Long accountId : accountIds) {
+                        statement.setLong(1, accountId);
+                        try (ResultSet rs = statement.executeQuery()) {
+                            while (rs.next()) {
+                                long dateMillis = rs.getLong(1);
+                                if (dateMillis != lastDateMillis) {
+                                    lastDateMillis = dateMillis;
+                                    lastDate = new java.sql.Date(dateMillis).toLocalDate();
+                                }
+                                consumer.accept(accountId, lastDate, rs.getString(2), rs.getString(3), 
+                                                Money.fromDouble(rs.getDouble(4)), 
+                                                Money.fromDouble(rs.getDouble(5)));
+                            }
+                        }
+                    }
+                } finally {
+                    connection.rollback();
+                    connection.setAutoCommit(autoCommit);
+                }
+            });
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * SUM atas atribut ber-converter dikembalikan dalam satuan kolom (decimal), bukan satuan minor
+     */
+    private Map<Long, AccountTotals> toAccountTotalsMap(List<Object[]> rows) {
+        Map<Long, AccountTotals> totals = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            Long accountId = (Long) row[0];
+            totals.put(accountId, new AccountTotals(accountId, Money.fromDatabase(row[1]), Money.fromDatabase(row[2])));
+        }
+        return totals;
+    }
+    
     /**
      * Menghapus transaction entry
      */
@@ -219,7 +385,7 @@ public class TransactionEntryDAO {
      * Mendapatkan entries untuk periode tertentu (untuk laporan)
      */
     public List<TransactionEntry> findByDateRange(LocalDate startDate, LocalDate endDate) {
-        EntityManager em = DatabaseUtil.getEntityManager();
+        EntityManager em = DatabaseUtil.getReadOnlyEntityManager();
         try {
             TypedQuery<TransactionEntry> query = em.createQuery(
                 "SELECT te FROM TransactionEntry te " +
@@ -234,4 +400,56 @@ public class TransactionEntryDAO {
             em.close();
         }
     }
+    
+    /**
+     * Total debit dan credit per account hasil query agregat (satuan minor, lihat Money)
+     */
+    public static class AccountTotals {
+        private final Long accountId;
+        private final long totalDebit;
+        private final long totalCredit;
+        
+        public AccountTotals(Long accountId, long totalDebit, long totalCredit) {
+            this.accountId = accountId;
+            this.totalDebit = totalDebit;
+            this.totalCredit = totalCredit;
+        }
+        
+        public Long getAccountId() {
+            return accountId;
+        }
+        
+        public long getTotalDebitMinor() {
+            return totalDebit;
+        }
+        
+        public long getTotalCreditMinor() {
+            return totalCredit;
+        }
+        
+        public BigDecimal getTotalDebit() {
+            return Money.toBigDecimal(totalDebit);
+        }
+        
+        public BigDecimal getTotalCredit() {
+            return Money.toBigDecimal(totalCredit);
+        }
+    }
+    
+    /**
+     * Penerima baris amount dari streamAmountsUpTo (amount dalam satuan minor, 0 bila kosong)
+     */
+    @FunctionalInterface
+    public interface AmountConsumer {
+        void accept(long accountId, long debitMinor, long creditMinor, boolean inPeriod);
+    }
+    
+    /**
+     * Penerima baris entry dari streamLedgerEntries (amount dalam satuan minor, 0 bila kosong)
+     */
+    @FunctionalInterface
+    public interface LedgerEntryConsumer {
+        void accept(long accountId, LocalDate transactionDate, String transactionNumber, String description, 
+                    long debitMinor, long creditMinor);
+    }
 }
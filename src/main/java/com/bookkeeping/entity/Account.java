@@ -4,6 +4,8 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.bookkeeping.util.Money;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -48,9 +50,16 @@ public class Account {
     @Column(name = "parent_id")
     private Long parentId;
     
-    @Column(name = "balance", precision = 15, scale = 2)
+    // Tidak ikut di-update saat entity di-merge: balance hanya berubah lewat increment
+    // (BalanceLedger) atau AccountDAO.updateBalance, agar salinan lama tidak menimpa posting lain
+    @Column(name = "balance", precision = 15, scale = 2, updatable = false)
     private BigDecimal balance = BigDecimal.ZERO;
     
+    // Saldo awal (import atau koreksi manual); balance = opening balance + mutasi semua entries.
+    // Null untuk account lama sampai direkonsiliasi BalanceLedger
+    @Column(name = "opening_balance", precision = 15, scale = 2, updatable = false)
+    private BigDecimal openingBalance = BigDecimal.ZERO;
+    
     @Column(name = "description")
     private String description;
     
@@ -118,6 +127,14 @@ public class Account {
         this.balance = balance;
     }
 
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public void setOpeningBalance(BigDecimal openingBalance) {
+        this.openingBalance = openingBalance;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -162,6 +179,14 @@ public class Account {
         }
     }
     
+    /**
+     * Menghitung perubahan balance dari mutasi debit/credit (satuan minor, lihat Money) sesuai
+     * saldo normal akun
+     */
+    public long normalDeltaMinor(long debitMinor, long creditMinor) {
+        return accountType.isDebitNormal() ? Money.subtract(debitMinor, creditMinor) : Money.subtract(creditMinor, debitMinor);
+    }
+
     /**
      * Mendapatkan balance normal (debit/credit)
      */
@@ -0,0 +1,110 @@
+package com.bookkeeping.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Entity untuk rollup saldo harian per account.
+ * Satu baris per (account, tanggal) yang memiliki mutasi; runningBalance adalah
+ * kumulatif (debit - credit) sampai dan termasuk tanggal tersebut.
+ */
+@Entity
+// Unique index (account_id, balance_date) dibuat oleh DatabaseUtil: hbm2ddl memakai
+// ALTER TABLE ADD CONSTRAINT yang tidak didukung SQLite
+@Table(name = "account_daily_balances")
+public class AccountDailyBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "balance_date", nullable = false)
+    private LocalDate balanceDate;
+
+    @Column(name = "debit_sum", precision = 15, scale = 2)
+    private BigDecimal debitSum = BigDecimal.ZERO;
+
+    @Column(name = "credit_sum", precision = 15, scale = 2)
+    private BigDecimal creditSum = BigDecimal.ZERO;
+
+    @Column(name = "running_balance", precision = 15, scale = 2)
+    private BigDecimal runningBalance = BigDecimal.ZERO;
+
+    // Constructors
+    public AccountDailyBalance() {}
+
+    public AccountDailyBalance(Long accountId, LocalDate balanceDate, BigDecimal openingRunningBalance) {
+        this.accountId = accountId;
+        this.balanceDate = balanceDate;
+        this.runningBalance = openingRunningBalance;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public LocalDate getBalanceDate() {
+        return balanceDate;
+    }
+
+    public void setBalanceDate(LocalDate balanceDate) {
+        this.balanceDate = balanceDate;
+    }
+
+    public BigDecimal getDebitSum() {
+        return debitSum;
+    }
+
+    public void setDebitSum(BigDecimal debitSum) {
+        this.debitSum = debitSum;
+    }
+
+    public BigDecimal getCreditSum() {
+        return creditSum;
+    }
+
+    public void setCreditSum(BigDecimal creditSum) {
+        this.creditSum = creditSum;
+    }
+
+    public BigDecimal getRunningBalance() {
+        return runningBalance;
+    }
+
+    public void setRunningBalance(BigDecimal runningBalance) {
+        this.runningBalance = runningBalance;
+    }
+
+    // Business Methods
+
+    /**
+     * Menambahkan mutasi debit/credit ke baris harian ini
+     */
+    public void applyDelta(BigDecimal debit, BigDecimal credit) {
+        this.debitSum = this.debitSum.add(debit);
+        this.creditSum = this.creditSum.add(credit);
+        this.runningBalance = this.runningBalance.add(debit).subtract(credit);
+    }
+
+    @Override
+    public String toString() {
+        return accountId + " @ " + balanceDate + " = " + runningBalance;
+    }
+}
@@ -0,0 +1,167 @@
+package com.bookkeeping.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity untuk log import file CSV (checkpoint import job).
+ * Satu baris per isi file (contentHash); committedOffset adalah posisi byte awal journal
+ * pertama yang belum di-commit, diperbarui dalam database transaction yang sama dengan batch.
+ */
+@Entity
+// Unique index content_hash dibuat oleh DatabaseUtil: hbm2ddl memakai
+// ALTER TABLE ADD CONSTRAINT yang tidak didukung SQLite
+@Table(name = "import_logs")
+public class ImportLog {
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_name", nullable = false, length = 500)
+    private String fileName;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "committed_offset", nullable = false)
+    private Long committedOffset = 0L;
+
+    @Column(name = "committed_lines", nullable = false)
+    private Long committedLines = 0L;
+
+    @Column(name = "last_reference")
+    private String lastReference;
+
+    @Column(name = "imported_transactions", nullable = false)
+    private Long importedTransactions = 0L;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.IN_PROGRESS;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ImportLog() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public ImportLog(String fileName, String contentHash, Long fileSize) {
+        this();
+        this.fileName = fileName;
+        this.contentHash = contentHash;
+        this.fileSize = fileSize;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    public void setCommittedOffset(Long committedOffset) {
+        this.committedOffset = committedOffset;
+    }
+
+    public Long getCommittedLines() {
+        return committedLines;
+    }
+
+    public void setCommittedLines(Long committedLines) {
+        this.committedLines = committedLines;
+    }
+
+    public String getLastReference() {
+        return lastReference;
+    }
+
+    public void setLastReference(String lastReference) {
+        this.lastReference = lastReference;
+    }
+
+    public Long getImportedTransactions() {
+        return importedTransactions;
+    }
+
+    public void setImportedTransactions(Long importedTransactions) {
+        this.importedTransactions = importedTransactions;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return fileName + " (" + status + ", offset " + committedOffset + ")";
+    }
+}
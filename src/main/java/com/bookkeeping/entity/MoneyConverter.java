@@ -0,0 +1,24 @@
+package com.bookkeeping.entity;
+
+import com.bookkeeping.util.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.math.BigDecimal;
+
+/**
+ * Converter JPA untuk amount yang disimpan di entity sebagai long satuan minor (sen),
+ * sementara kolom database tetap decimal(15,2)
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long minor) {
+        return minor != null ? Money.toBigDecimal(minor) : null;
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal amount) {
+        return amount != null ? Money.toMinor(amount) : null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bookkeeping.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Entity untuk sequence penomoran (mis. nomor transaksi TXN-).
+ * nextValue adalah nilai pertama yang belum pernah dibagikan ke allocator mana pun.
+ */
+@Entity
+@Table(name = "number_sequences")
+public class NumberSequence {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    // Constructors
+    public NumberSequence() {}
+
+    public NumberSequence(String name, Long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(Long nextValue) {
+        this.nextValue = nextValue;
+    }
+
+    @Override
+    public String toString() {
+        return name + " -> " + nextValue;
+    }
+}
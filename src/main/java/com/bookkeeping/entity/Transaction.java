@@ -1,5 +1,6 @@
 package com.bookkeeping.entity;
 
+import com.bookkeeping.util.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -14,7 +15,10 @@ import java.util.List;
  * Entity untuk transaksi (Journal Entry)
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_date_id", columnList = "transaction_date, id"),
+    @Index(name = "idx_transactions_date_number", columnList = "transaction_date, transaction_number")
+})
 public class Transaction {
     
     @Id
@@ -39,6 +43,11 @@ public class Transaction {
     @Column(name = "total_amount", precision = 15, scale = 2)
     private BigDecimal totalAmount = BigDecimal.ZERO;
     
+    // Fingerprint journal hasil import (lihat JournalFingerprint); null untuk transaksi manual.
+    // Unique index dibuat oleh DatabaseUtil
+    @Column(name = "import_fingerprint")
+    private Long importFingerprint;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -47,6 +56,10 @@ public class Transaction {
     
     @OneToMany(mappedBy = "transaction", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<TransactionEntry> entries = new ArrayList<>();
+    
+    // Skor relevansi (bm25, makin kecil makin relevan) bila dimuat dari pencarian full-text
+    @Transient
+    private Double searchRank;
 
     // Constructors
     public Transaction() {
@@ -110,6 +123,22 @@ public class Transaction {
         this.totalAmount = totalAmount;
     }
 
+    public Long getImportFingerprint() {
+        return importFingerprint;
+    }
+
+    public void setImportFingerprint(Long importFingerprint) {
+        this.importFingerprint = importFingerprint;
+    }
+
+    public Double getSearchRank() {
+        return searchRank;
+    }
+
+    public void setSearchRank(Double searchRank) {
+        this.searchRank = searchRank;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -158,27 +187,24 @@ public class Transaction {
      * Menghitung total amount dari semua entries
      */
     public void calculateTotalAmount() {
-        this.totalAmount = entries.stream()
-                .filter(entry -> entry.getDebitAmount() != null)
-                .map(TransactionEntry::getDebitAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalDebit = 0;
+        for (TransactionEntry entry : entries) {
+            totalDebit = Money.add(totalDebit, entry.getDebitMinor());
+        }
+        this.totalAmount = Money.toBigDecimal(totalDebit);
     }
     
     /**
      * Validasi apakah transaksi balance (debit = credit)
      */
     public boolean isBalanced() {
-        BigDecimal totalDebit = entries.stream()
-                .filter(entry -> entry.getDebitAmount() != null)
-                .map(TransactionEntry::getDebitAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-        BigDecimal totalCredit = entries.stream()
-                .filter(entry -> entry.getCreditAmount() != null)
-                .map(TransactionEntry::getCreditAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-        return totalDebit.compareTo(totalCredit) == 0;
+        long totalDebit = 0;
+        long totalCredit = 0;
+        for (TransactionEntry entry : entries) {
+            totalDebit = Money.add(totalDebit, entry.getDebitMinor());
+            totalCredit = Money.add(totalCredit, entry.getCreditMinor());
+        }
+        return totalDebit == totalCredit;
     }
 
     @PreUpdate
@@ -1,5 +1,6 @@
 package com.bookkeeping.entity;
 
+import com.bookkeeping.util.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
@@ -8,7 +9,10 @@ import java.math.BigDecimal;
  * Entity untuk detail transaksi (Journal Entry Lines)
  */
 @Entity
-@Table(name = "transaction_entries")
+@Table(name = "transaction_entries", indexes = {
+    @Index(name = "idx_entries_transaction_account", columnList = "transaction_id, account_id"),
+    @Index(name = "idx_entries_account_transaction", columnList = "account_id, transaction_id")
+})
 public class TransactionEntry {
     
     @Id
@@ -25,11 +29,15 @@ public class TransactionEntry {
     @JoinColumn(name = "account_id", nullable = false)
     private Account account;
     
+    // Disimpan sebagai satuan minor (sen, lihat Money) agar validasi balance dan agregasi tidak
+    // membuat BigDecimal per entry; getter/setter BigDecimal hanya untuk batas model
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "debit_amount", precision = 15, scale = 2)
-    private BigDecimal debitAmount;
+    private Long debitAmount;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "credit_amount", precision = 15, scale = 2)
-    private BigDecimal creditAmount;
+    private Long creditAmount;
     
     @Column(name = "description")
     private String description;
@@ -39,8 +47,8 @@ public class TransactionEntry {
 
     public TransactionEntry(Account account, BigDecimal debitAmount, BigDecimal creditAmount) {
         this.account = account;
-        this.debitAmount = debitAmount;
-        this.creditAmount = creditAmount;
+        this.debitAmount = toMinor(debitAmount);
+        this.creditAmount = toMinor(creditAmount);
     }
 
     public TransactionEntry(Account account, BigDecimal debitAmount, BigDecimal creditAmount, String description) {
@@ -74,27 +82,41 @@ public class TransactionEntry {
     }
 
     public BigDecimal getDebitAmount() {
-        return debitAmount;
+        return toBigDecimal(debitAmount);
     }
 
     public void setDebitAmount(BigDecimal debitAmount) {
-        this.debitAmount = debitAmount;
-        if (debitAmount != null && debitAmount.compareTo(BigDecimal.ZERO) > 0) {
+        this.debitAmount = toMinor(debitAmount);
+        if (getDebitMinor() > 0) {
             this.creditAmount = null;
         }
     }
 
     public BigDecimal getCreditAmount() {
-        return creditAmount;
+        return toBigDecimal(creditAmount);
     }
 
     public void setCreditAmount(BigDecimal creditAmount) {
-        this.creditAmount = creditAmount;
-        if (creditAmount != null && creditAmount.compareTo(BigDecimal.ZERO) > 0) {
+        this.creditAmount = toMinor(creditAmount);
+        if (getCreditMinor() > 0) {
             this.debitAmount = null;
         }
     }
 
+    /**
+     * Debit dalam satuan minor (0 bila kosong), untuk penjumlahan tanpa BigDecimal
+     */
+    public long getDebitMinor() {
+        return debitAmount != null ? debitAmount : 0;
+    }
+
+    /**
+     * Credit dalam satuan minor (0 bila kosong), untuk penjumlahan tanpa BigDecimal
+     */
+    public long getCreditMinor() {
+        return creditAmount != null ? creditAmount : 0;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -109,22 +131,22 @@ public class TransactionEntry {
      * Mendapatkan amount (debit atau credit)
      */
     public BigDecimal getAmount() {
-        return debitAmount != null ? debitAmount : 
-               (creditAmount != null ? creditAmount : BigDecimal.ZERO);
+        return debitAmount != null ? getDebitAmount() : 
+               (creditAmount != null ? getCreditAmount() : BigDecimal.ZERO);
     }
     
     /**
      * Mengecek apakah entry ini adalah debit
      */
     public boolean isDebit() {
-        return debitAmount != null && debitAmount.compareTo(BigDecimal.ZERO) > 0;
+        return getDebitMinor() > 0;
     }
     
     /**
      * Mengecek apakah entry ini adalah credit
      */
     public boolean isCredit() {
-        return creditAmount != null && creditAmount.compareTo(BigDecimal.ZERO) > 0;
+        return getCreditMinor() > 0;
     }
     
     /**
@@ -137,10 +159,18 @@ public class TransactionEntry {
     @Override
     public String toString() {
         String accountInfo = account != null ? account.getAccountCode() + " - " + account.getAccountName() : "No Account";
-        String amountInfo = isDebit() ? "Dr. " + debitAmount : "Cr. " + creditAmount;
+        String amountInfo = isDebit() ? "Dr. " + getDebitAmount() : "Cr. " + getCreditAmount();
         return accountInfo + " " + amountInfo;
     }
 
+    private static Long toMinor(BigDecimal amount) {
+        return amount != null ? Money.toMinor(amount) : null;
+    }
+
+    private static BigDecimal toBigDecimal(Long minor) {
+        return minor != null ? Money.toBigDecimal(minor) : null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,37 @@
+package com.bookkeeping.model;
+
+/**
+ * Model untuk gabungan laporan month-end (Trial Balance, Balance Sheet, Income Statement)
+ * yang dihasilkan dari satu kali pembacaan entries
+ */
+public class FinancialStatementsData {
+
+    private TrialBalanceData trialBalance;
+    private BalanceSheetData balanceSheet;
+    private IncomeStatementData incomeStatement;
+
+    // Getters and Setters
+    public TrialBalanceData getTrialBalance() {
+        return trialBalance;
+    }
+
+    public void setTrialBalance(TrialBalanceData trialBalance) {
+        this.trialBalance = trialBalance;
+    }
+
+    public BalanceSheetData getBalanceSheet() {
+        return balanceSheet;
+    }
+
+    public void setBalanceSheet(BalanceSheetData balanceSheet) {
+        this.balanceSheet = balanceSheet;
+    }
+
+    public IncomeStatementData getIncomeStatement() {
+        return incomeStatement;
+    }
+
+    public void setIncomeStatement(IncomeStatementData incomeStatement) {
+        this.incomeStatement = incomeStatement;
+    }
+}
@@ -0,0 +1,221 @@
+package com.bookkeeping.model;
+
+import com.bookkeeping.util.Money;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model untuk General Ledger. Hanya berisi header per account (opening balance, lalu total dan
+ * closing balance yang diisi saat entries di-stream oleh ReportService.streamGeneralLedger);
+ * baris entries tidak pernah disimpan di model, melainkan dikirim satu per satu sebagai LedgerLine.
+ */
+public class GeneralLedgerData {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<AccountLedger> accounts;
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+
+    public GeneralLedgerData() {
+        this.accounts = new ArrayList<>();
+        this.totalDebits = BigDecimal.ZERO;
+        this.totalCredits = BigDecimal.ZERO;
+    }
+
+    public void addAccount(AccountLedger account) {
+        this.accounts.add(account);
+    }
+
+    // Getters and Setters
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public List<AccountLedger> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(List<AccountLedger> accounts) {
+        this.accounts = accounts;
+    }
+
+    public BigDecimal getTotalDebits() {
+        return totalDebits;
+    }
+
+    public void setTotalDebits(BigDecimal totalDebits) {
+        this.totalDebits = totalDebits;
+    }
+
+    public BigDecimal getTotalCredits() {
+        return totalCredits;
+    }
+
+    public void setTotalCredits(BigDecimal totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+
+    public boolean isBalanced() {
+        return totalDebits.compareTo(totalCredits) == 0;
+    }
+
+    public String getPeriodDisplay() {
+        return "For the period from " + startDate + " to " + endDate;
+    }
+
+    /**
+     * Inner class untuk header satu account; balance mengikuti saldo normal account
+     */
+    public static class AccountLedger {
+        private Long accountId;
+        private String accountCode;
+        private String accountName;
+        private boolean debitNormal;
+        private BigDecimal openingBalance;
+        private BigDecimal totalDebit;
+        private BigDecimal totalCredit;
+        private BigDecimal closingBalance;
+
+        public AccountLedger() {
+            this.openingBalance = BigDecimal.ZERO;
+            this.totalDebit = BigDecimal.ZERO;
+            this.totalCredit = BigDecimal.ZERO;
+            this.closingBalance = BigDecimal.ZERO;
+        }
+
+        // Getters and Setters
+        public Long getAccountId() {
+            return accountId;
+        }
+
+        public void setAccountId(Long accountId) {
+            this.accountId = accountId;
+        }
+
+        public String getAccountCode() {
+            return accountCode;
+        }
+
+        public void setAccountCode(String accountCode) {
+            this.accountCode = accountCode;
+        }
+
+        public String getAccountName() {
+            return accountName;
+        }
+
+        public void setAccountName(String accountName) {
+            this.accountName = accountName;
+        }
+
+        public boolean isDebitNormal() {
+            return debitNormal;
+        }
+
+        public void setDebitNormal(boolean debitNormal) {
+            this.debitNormal = debitNormal;
+        }
+
+        public String getNormalBalance() {
+            return debitNormal ? "Debit" : "Credit";
+        }
+
+        public BigDecimal getOpeningBalance() {
+            return openingBalance;
+        }
+
+        public void setOpeningBalance(BigDecimal openingBalance) {
+            this.openingBalance = openingBalance;
+        }
+
+        public BigDecimal getTotalDebit() {
+            return totalDebit;
+        }
+
+        public void setTotalDebit(BigDecimal totalDebit) {
+            this.totalDebit = totalDebit;
+        }
+
+        public BigDecimal getTotalCredit() {
+            return totalCredit;
+        }
+
+        public void setTotalCredit(BigDecimal totalCredit) {
+            this.totalCredit = totalCredit;
+        }
+
+        public BigDecimal getClosingBalance() {
+            return closingBalance;
+        }
+
+        public void setClosingBalance(BigDecimal closingBalance) {
+            this.closingBalance = closingBalance;
+        }
+
+        public String getAccountDisplay() {
+            return accountCode + " - " + accountName;
+        }
+    }
+
+    /**
+     * Satu baris entry beserta running balance (satuan minor, lihat Money). Instance yang sama
+     * diisi ulang untuk setiap baris, jadi jangan disimpan oleh penerimanya.
+     */
+    public static class LedgerLine {
+        private LocalDate transactionDate;
+        private String transactionNumber;
+        private String description;
+        private long debit;
+        private long credit;
+        private long balance;
+
+        public void set(LocalDate transactionDate, String transactionNumber, String description,
+                        long debit, long credit, long balance) {
+            this.transactionDate = transactionDate;
+            this.transactionNumber = transactionNumber;
+            this.description = description;
+            this.debit = debit;
+            this.credit = credit;
+            this.balance = balance;
+        }
+
+        public LocalDate getTransactionDate() {
+            return transactionDate;
+        }
+
+        public String getTransactionNumber() {
+            return transactionNumber;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public BigDecimal getDebit() {
+            return Money.toBigDecimal(debit);
+        }
+
+        public BigDecimal getCredit() {
+            return Money.toBigDecimal(credit);
+        }
+
+        public BigDecimal getBalance() {
+            return Money.toBigDecimal(balance);
+        }
+    }
+}
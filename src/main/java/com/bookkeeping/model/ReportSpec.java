@@ -0,0 +1,118 @@
+package com.bookkeeping.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Spesifikasi satu laporan untuk batch export: jenis laporan dan periodenya.
+ * Trial Balance dan Balance Sheet adalah posisi per endDate (startDate tidak dipakai).
+ */
+public class ReportSpec {
+
+    /**
+     * Jenis laporan beserta nama tampilan dan prefix nama file PDF-nya
+     */
+    public enum ReportType {
+        TRIAL_BALANCE("Trial Balance", "trial_balance"),
+        BALANCE_SHEET("Balance Sheet", "balance_sheet"),
+        INCOME_STATEMENT("Income Statement", "income_statement"),
+        GENERAL_LEDGER("General Ledger", "general_ledger");
+
+        private final String displayName;
+        private final String filePrefix;
+
+        ReportType(String displayName, String filePrefix) {
+            this.displayName = displayName;
+            this.filePrefix = filePrefix;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public String getFilePrefix() {
+            return filePrefix;
+        }
+
+        /**
+         * Laporan periode (startDate - endDate), bukan posisi per tanggal
+         */
+        public boolean isPeriodReport() {
+            return this == INCOME_STATEMENT || this == GENERAL_LEDGER;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final ReportType type;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public ReportSpec(ReportType type, LocalDate startDate, LocalDate endDate) {
+        if (type.isPeriodReport() && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date: " + startDate + " to " + endDate);
+        }
+        this.type = type;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public static ReportSpec trialBalance(LocalDate asOfDate) {
+        return new ReportSpec(ReportType.TRIAL_BALANCE, null, asOfDate);
+    }
+
+    public static ReportSpec balanceSheet(LocalDate asOfDate) {
+        return new ReportSpec(ReportType.BALANCE_SHEET, null, asOfDate);
+    }
+
+    public static ReportSpec incomeStatement(LocalDate startDate, LocalDate endDate) {
+        return new ReportSpec(ReportType.INCOME_STATEMENT, startDate, endDate);
+    }
+
+    public static ReportSpec generalLedger(LocalDate startDate, LocalDate endDate) {
+        return new ReportSpec(ReportType.GENERAL_LEDGER, startDate, endDate);
+    }
+
+    /**
+     * Paket month-end satu periode: Trial Balance dan Balance Sheet per endDate, lalu Income Statement
+     */
+    public static List<ReportSpec> monthEnd(LocalDate startDate, LocalDate endDate) {
+        return List.of(trialBalance(endDate), balanceSheet(endDate), incomeStatement(startDate, endDate));
+    }
+
+    // Getters
+    public ReportType getType() {
+        return type;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public String getName() {
+        return type.isPeriodReport()
+            ? type.getDisplayName() + " " + startDate + " to " + endDate
+            : type.getDisplayName() + " " + endDate;
+    }
+
+    /**
+     * Nama file PDF default, sama dengan yang ditawarkan tab Reports
+     */
+    public String getFileName() {
+        return type.isPeriodReport()
+            ? type.getFilePrefix() + "_" + startDate + "_to_" + endDate + ".pdf"
+            : type.getFilePrefix() + "_" + endDate + ".pdf";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
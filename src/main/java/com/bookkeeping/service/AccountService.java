@@ -3,6 +3,8 @@ package com.bookkeeping.service;
 import com.bookkeeping.dao.AccountDAO;
 import com.bookkeeping.entity.Account;
 import com.bookkeeping.entity.AccountType;
+import com.bookkeeping.util.AccountIndex;
+import com.bookkeeping.util.BalanceLedger;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
@@ -12,10 +14,14 @@ import java.util.Optional;
  */
 public class AccountService {
     
+    // Dipakai bersama oleh semua AccountService agar save/delete dari dialog mana pun ikut tercatat
+    private static final AccountIndex accountIndex = new AccountIndex();
+    
     private final AccountDAO accountDAO;
     
     public AccountService() {
         this.accountDAO = new AccountDAO();
+        BalanceLedger.ensureReconciled();
     }
     
     /**
@@ -30,7 +36,9 @@ public class AccountService {
         Account account = new Account(accountCode, accountName, accountType);
         account.setDescription(description);
         
-        return accountDAO.save(account);
+        Account saved = accountDAO.save(account);
+        accountIndex.put(saved);
+        return saved;
     }
     
     /**
@@ -54,7 +62,9 @@ public class AccountService {
         account.setAccountType(accountType);
         account.setDescription(description);
         
-        return accountDAO.save(account);
+        Account saved = accountDAO.save(account);
+        accountIndex.put(saved);
+        return saved;
     }
     
     /**
@@ -66,12 +76,16 @@ public class AccountService {
             return false;
         }
         
-        // Cek apakah account memiliki transaksi
-        if (!account.get().getTransactionEntries().isEmpty()) {
+        // Cek apakah account memiliki transaksi (query, account hasil findById tidak memuat entries)
+        if (accountDAO.hasTransactionEntries(id)) {
             throw new IllegalStateException("Cannot delete account with existing transactions");
         }
         
-        return accountDAO.delete(id);
+        boolean deleted = accountDAO.delete(id);
+        if (deleted) {
+            accountIndex.remove(id);
+        }
+        return deleted;
     }
     
     /**
@@ -92,7 +106,21 @@ public class AccountService {
      * Mendapatkan semua accounts
      */
     public List<Account> getAllAccounts() {
-        return accountDAO.findAll();
+        List<Account> accounts = accountDAO.findAll();
+        // Sekalian menyegarkan index (balance bisa berubah lewat posting transaksi)
+        accountIndex.replaceAll(accounts);
+        return accounts;
+    }
+    
+    /**
+     * Filter accounts dari index in-memory: code atau nama mengandung searchText, dan bertipe
+     * accountType (null berarti semua type). Index dimuat dari database pada pemakaian pertama.
+     */
+    public List<Account> filterAccounts(String searchText, AccountType accountType) {
+        if (!accountIndex.isLoaded()) {
+            getAllAccounts();
+        }
+        return accountIndex.search(searchText, accountType);
     }
     
     /**
@@ -121,6 +149,9 @@ public class AccountService {
      */
     public void updateAccountBalance(Long accountId, BigDecimal newBalance) {
         accountDAO.updateBalance(accountId, newBalance);
+        if (accountIndex.isLoaded()) {
+            accountDAO.findById(accountId).ifPresent(accountIndex::put);
+        }
     }
     
     /**
@@ -135,7 +166,9 @@ public class AccountService {
         Account account = existingAccount.get();
         account.setIsActive(!account.getIsActive());
         
-        return accountDAO.save(account);
+        Account saved = accountDAO.save(account);
+        accountIndex.put(saved);
+        return saved;
     }
     
     /**
@@ -1,89 +1,72 @@
 package com.bookkeeping.service;
 
 import com.bookkeeping.model.BalanceSheetData;
+import com.bookkeeping.model.GeneralLedgerData;
 import com.bookkeeping.model.IncomeStatementData;
 import com.bookkeeping.model.TrialBalanceData;
+import com.bookkeeping.util.PdfStyles;
+import com.bookkeeping.util.ReportPageFooter;
+import com.bookkeeping.util.StreamingPdfTable;
 import com.itextpdf.text.*;
-import com.itextpdf.text.pdf.PdfPCell;
-import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
+import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.text.NumberFormat;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
 
 /**
- * Service untuk menghasilkan laporan PDF
+ * Service untuk menghasilkan laporan PDF. Font dan format diambil dari PdfStyles dan service
+ * tidak menyimpan state per dokumen, sehingga satu instance aman dipakai dari banyak thread.
  */
 public class PDFReportService {
     
-    private final NumberFormat currencyFormat;
-    private final DateTimeFormatter dateFormatter;
-    
-    public PDFReportService() {
-        this.currencyFormat = NumberFormat.getCurrencyInstance(Locale.forLanguageTag("id-ID"));
-        this.dateFormatter = DateTimeFormatter.ofPattern("dd MMMM yyyy");
-    }
+    private static final float[] TRIAL_BALANCE_WIDTHS = {15f, 45f, 20f, 20f};
+    private static final float[] SECTION_WIDTHS = {15f, 60f, 25f};
+    private static final float[] GENERAL_LEDGER_WIDTHS = {10f, 13f, 32f, 15f, 15f, 15f};
     
     /**
      * Generate PDF Trial Balance
      */
     public void generateTrialBalancePDF(TrialBalanceData data, String filePath) throws DocumentException, IOException {
-        Document document = new Document(PageSize.A4);
-        PdfWriter.getInstance(document, new FileOutputStream(filePath));
-        
-        document.open();
+        Document document = openDocument(PageSize.A4, filePath, "Trial Balance");
         
         // Header
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, BaseColor.BLACK);
-        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
-        Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.BLACK);
-        
-        Paragraph title = new Paragraph("TRIAL BALANCE", titleFont);
+        Paragraph title = new Paragraph("TRIAL BALANCE", PdfStyles.TITLE_FONT);
         title.setAlignment(Element.ALIGN_CENTER);
         document.add(title);
         
-        Paragraph asOfDate = new Paragraph("As of " + data.getAsOfDate().format(dateFormatter), headerFont);
+        Paragraph asOfDate = new Paragraph("As of " + data.getAsOfDate().format(PdfStyles.DATE_FORMAT), PdfStyles.HEADER_FONT);
         asOfDate.setAlignment(Element.ALIGN_CENTER);
         asOfDate.setSpacingAfter(20);
         document.add(asOfDate);
         
         // Table
-        PdfPTable table = new PdfPTable(4);
-        table.setWidthPercentage(100);
-        table.setWidths(new float[]{15f, 45f, 20f, 20f});
+        StreamingPdfTable table = new StreamingPdfTable(document, TRIAL_BALANCE_WIDTHS);
         
-        // Table headers
-        addTableHeader(table, "Account Code", headerFont);
-        addTableHeader(table, "Account Name", headerFont);
-        addTableHeader(table, "Debit", headerFont);
-        addTableHeader(table, "Credit", headerFont);
+        // Table headers (diulang di setiap halaman)
+        table.addHeaderRow(PdfStyles.HEADER_FONT, "Account Code", "Account Name", "Debit", "Credit");
         
         // Table data
         for (TrialBalanceData.TrialBalanceItem item : data.getItems()) {
-            addTableCell(table, item.getAccountCode(), normalFont);
-            addTableCell(table, item.getAccountName(), normalFont);
-            addTableCell(table, formatCurrency(item.getDebitBalance()), normalFont);
-            addTableCell(table, formatCurrency(item.getCreditBalance()), normalFont);
+            addTableCell(table, item.getAccountCode(), PdfStyles.NORMAL_FONT);
+            addTableCell(table, item.getAccountName(), PdfStyles.NORMAL_FONT);
+            addTableCell(table, PdfStyles.formatCurrency(item.getDebitBalance()), PdfStyles.NORMAL_FONT);
+            addTableCell(table, PdfStyles.formatCurrency(item.getCreditBalance()), PdfStyles.NORMAL_FONT);
         }
         
         // Total row
-        addTableCell(table, "", headerFont);
-        addTableCell(table, "TOTAL", headerFont);
-        addTableCell(table, formatCurrency(data.getTotalDebits()), headerFont);
-        addTableCell(table, formatCurrency(data.getTotalCredits()), headerFont);
+        addTableCell(table, "", PdfStyles.HEADER_FONT);
+        addTableCell(table, "TOTAL", PdfStyles.HEADER_FONT);
+        addTableCell(table, PdfStyles.formatCurrency(data.getTotalDebits()), PdfStyles.HEADER_FONT);
+        addTableCell(table, PdfStyles.formatCurrency(data.getTotalCredits()), PdfStyles.HEADER_FONT);
         
-        document.add(table);
+        table.finish();
         
         // Balance validation
         Paragraph balanceInfo = new Paragraph();
         if (data.isBalanced()) {
-            balanceInfo.add(new Phrase("✓ Trial Balance is BALANCED", 
-                FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.GREEN)));
+            balanceInfo.add(new Phrase("✓ Trial Balance is BALANCED", PdfStyles.POSITIVE_FONT));
         } else {
-            balanceInfo.add(new Phrase("✗ Trial Balance is NOT BALANCED", 
-                FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.RED)));
+            balanceInfo.add(new Phrase("✗ Trial Balance is NOT BALANCED", PdfStyles.NEGATIVE_FONT));
         }
         balanceInfo.setSpacingBefore(20);
         document.add(balanceInfo);
@@ -95,103 +78,87 @@ public class PDFReportService {
      * Generate PDF Balance Sheet
      */
     public void generateBalanceSheetPDF(BalanceSheetData data, String filePath) throws DocumentException, IOException {
-        Document document = new Document(PageSize.A4);
-        PdfWriter.getInstance(document, new FileOutputStream(filePath));
-        
-        document.open();
-        
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, BaseColor.BLACK);
-        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
-        Font subHeaderFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.BLACK);
-        Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.BLACK);
+        Document document = openDocument(PageSize.A4, filePath, "Balance Sheet");
         
         // Header
-        Paragraph title = new Paragraph("BALANCE SHEET", titleFont);
+        Paragraph title = new Paragraph("BALANCE SHEET", PdfStyles.TITLE_FONT);
         title.setAlignment(Element.ALIGN_CENTER);
         document.add(title);
         
-        Paragraph asOfDate = new Paragraph("As of " + data.getAsOfDate().format(dateFormatter), headerFont);
+        Paragraph asOfDate = new Paragraph("As of " + data.getAsOfDate().format(PdfStyles.DATE_FORMAT), PdfStyles.HEADER_FONT);
         asOfDate.setAlignment(Element.ALIGN_CENTER);
         asOfDate.setSpacingAfter(20);
         document.add(asOfDate);
         
         // Assets Section
-        Paragraph assetsHeader = new Paragraph("ASSETS", subHeaderFont);
+        Paragraph assetsHeader = new Paragraph("ASSETS", PdfStyles.SUB_HEADER_FONT);
         assetsHeader.setSpacingBefore(10);
         document.add(assetsHeader);
         
-        PdfPTable assetsTable = new PdfPTable(3);
-        assetsTable.setWidthPercentage(100);
-        assetsTable.setWidths(new float[]{15f, 60f, 25f});
+        StreamingPdfTable assetsTable = new StreamingPdfTable(document, SECTION_WIDTHS);
         
         for (BalanceSheetData.BalanceSheetItem item : data.getAssets()) {
-            addTableCell(assetsTable, item.getAccountCode(), normalFont);
-            addTableCell(assetsTable, item.getAccountName(), normalFont);
-            addTableCell(assetsTable, formatCurrency(item.getAmount()), normalFont);
+            addTableCell(assetsTable, item.getAccountCode(), PdfStyles.NORMAL_FONT);
+            addTableCell(assetsTable, item.getAccountName(), PdfStyles.NORMAL_FONT);
+            addTableCell(assetsTable, PdfStyles.formatCurrency(item.getAmount()), PdfStyles.NORMAL_FONT);
         }
         
         // Total Assets
-        addTableCell(assetsTable, "", subHeaderFont);
-        addTableCell(assetsTable, "TOTAL ASSETS", subHeaderFont);
-        addTableCell(assetsTable, formatCurrency(data.getTotalAssets()), subHeaderFont);
+        addTableCell(assetsTable, "", PdfStyles.SUB_HEADER_FONT);
+        addTableCell(assetsTable, "TOTAL ASSETS", PdfStyles.SUB_HEADER_FONT);
+        addTableCell(assetsTable, PdfStyles.formatCurrency(data.getTotalAssets()), PdfStyles.SUB_HEADER_FONT);
         
-        document.add(assetsTable);
+        assetsTable.finish();
         
         // Liabilities Section
-        Paragraph liabilitiesHeader = new Paragraph("LIABILITIES", subHeaderFont);
+        Paragraph liabilitiesHeader = new Paragraph("LIABILITIES", PdfStyles.SUB_HEADER_FONT);
         liabilitiesHeader.setSpacingBefore(20);
         document.add(liabilitiesHeader);
         
-        PdfPTable liabilitiesTable = new PdfPTable(3);
-        liabilitiesTable.setWidthPercentage(100);
-        liabilitiesTable.setWidths(new float[]{15f, 60f, 25f});
+        StreamingPdfTable liabilitiesTable = new StreamingPdfTable(document, SECTION_WIDTHS);
         
         for (BalanceSheetData.BalanceSheetItem item : data.getLiabilities()) {
-            addTableCell(liabilitiesTable, item.getAccountCode(), normalFont);
-            addTableCell(liabilitiesTable, item.getAccountName(), normalFont);
-            addTableCell(liabilitiesTable, formatCurrency(item.getAmount()), normalFont);
+            addTableCell(liabilitiesTable, item.getAccountCode(), PdfStyles.NORMAL_FONT);
+            addTableCell(liabilitiesTable, item.getAccountName(), PdfStyles.NORMAL_FONT);
+            addTableCell(liabilitiesTable, PdfStyles.formatCurrency(item.getAmount()), PdfStyles.NORMAL_FONT);
         }
         
         // Total Liabilities
-        addTableCell(liabilitiesTable, "", subHeaderFont);
-        addTableCell(liabilitiesTable, "TOTAL LIABILITIES", subHeaderFont);
-        addTableCell(liabilitiesTable, formatCurrency(data.getTotalLiabilities()), subHeaderFont);
+        addTableCell(liabilitiesTable, "", PdfStyles.SUB_HEADER_FONT);
+        addTableCell(liabilitiesTable, "TOTAL LIABILITIES", PdfStyles.SUB_HEADER_FONT);
+        addTableCell(liabilitiesTable, PdfStyles.formatCurrency(data.getTotalLiabilities()), PdfStyles.SUB_HEADER_FONT);
         
-        document.add(liabilitiesTable);
+        liabilitiesTable.finish();
         
         // Equity Section
-        Paragraph equityHeader = new Paragraph("EQUITY", subHeaderFont);
+        Paragraph equityHeader = new Paragraph("EQUITY", PdfStyles.SUB_HEADER_FONT);
         equityHeader.setSpacingBefore(20);
         document.add(equityHeader);
         
-        PdfPTable equityTable = new PdfPTable(3);
-        equityTable.setWidthPercentage(100);
-        equityTable.setWidths(new float[]{15f, 60f, 25f});
+        StreamingPdfTable equityTable = new StreamingPdfTable(document, SECTION_WIDTHS);
         
         for (BalanceSheetData.BalanceSheetItem item : data.getEquity()) {
-            addTableCell(equityTable, item.getAccountCode(), normalFont);
-            addTableCell(equityTable, item.getAccountName(), normalFont);
-            addTableCell(equityTable, formatCurrency(item.getAmount()), normalFont);
+            addTableCell(equityTable, item.getAccountCode(), PdfStyles.NORMAL_FONT);
+            addTableCell(equityTable, item.getAccountName(), PdfStyles.NORMAL_FONT);
+            addTableCell(equityTable, PdfStyles.formatCurrency(item.getAmount()), PdfStyles.NORMAL_FONT);
         }
         
         // Total Equity
-        addTableCell(equityTable, "", subHeaderFont);
-        addTableCell(equityTable, "TOTAL EQUITY", subHeaderFont);
-        addTableCell(equityTable, formatCurrency(data.getTotalEquity()), subHeaderFont);
+        addTableCell(equityTable, "", PdfStyles.SUB_HEADER_FONT);
+        addTableCell(equityTable, "TOTAL EQUITY", PdfStyles.SUB_HEADER_FONT);
+        addTableCell(equityTable, PdfStyles.formatCurrency(data.getTotalEquity()), PdfStyles.SUB_HEADER_FONT);
         
-        document.add(equityTable);
+        equityTable.finish();
         
         // Total Liabilities + Equity
-        PdfPTable totalTable = new PdfPTable(3);
-        totalTable.setWidthPercentage(100);
-        totalTable.setWidths(new float[]{15f, 60f, 25f});
+        StreamingPdfTable totalTable = new StreamingPdfTable(document, SECTION_WIDTHS);
         totalTable.setSpacingBefore(10);
         
-        addTableCell(totalTable, "", headerFont);
-        addTableCell(totalTable, "TOTAL LIABILITIES + EQUITY", headerFont);
-        addTableCell(totalTable, formatCurrency(data.getTotalLiabilitiesAndEquity()), headerFont);
+        addTableCell(totalTable, "", PdfStyles.HEADER_FONT);
+        addTableCell(totalTable, "TOTAL LIABILITIES + EQUITY", PdfStyles.HEADER_FONT);
+        addTableCell(totalTable, PdfStyles.formatCurrency(data.getTotalLiabilitiesAndEquity()), PdfStyles.HEADER_FONT);
         
-        document.add(totalTable);
+        totalTable.finish();
         
         document.close();
     }
@@ -200,153 +167,229 @@ public class PDFReportService {
      * Generate PDF Income Statement
      */
     public void generateIncomeStatementPDF(IncomeStatementData data, String filePath) throws DocumentException, IOException {
-        Document document = new Document(PageSize.A4);
-        PdfWriter.getInstance(document, new FileOutputStream(filePath));
-        
-        document.open();
-        
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, BaseColor.BLACK);
-        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
-        Font subHeaderFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.BLACK);
-        Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.BLACK);
+        Document document = openDocument(PageSize.A4, filePath, "Income Statement");
         
         // Header
-        Paragraph title = new Paragraph("INCOME STATEMENT", titleFont);
+        Paragraph title = new Paragraph("INCOME STATEMENT", PdfStyles.TITLE_FONT);
         title.setAlignment(Element.ALIGN_CENTER);
         document.add(title);
         
-        Paragraph period = new Paragraph(data.getPeriodDisplay(), headerFont);
+        Paragraph period = new Paragraph(data.getPeriodDisplay(), PdfStyles.HEADER_FONT);
         period.setAlignment(Element.ALIGN_CENTER);
         period.setSpacingAfter(20);
         document.add(period);
         
         // Revenue Section
-        Paragraph revenueHeader = new Paragraph("REVENUE", subHeaderFont);
+        Paragraph revenueHeader = new Paragraph("REVENUE", PdfStyles.SUB_HEADER_FONT);
         document.add(revenueHeader);
         
-        PdfPTable revenueTable = new PdfPTable(3);
-        revenueTable.setWidthPercentage(100);
-        revenueTable.setWidths(new float[]{15f, 60f, 25f});
+        StreamingPdfTable revenueTable = new StreamingPdfTable(document, SECTION_WIDTHS);
         
         for (IncomeStatementData.IncomeStatementItem item : data.getRevenues()) {
-            addTableCell(revenueTable, item.getAccountCode(), normalFont);
-            addTableCell(revenueTable, item.getAccountName(), normalFont);
-            addTableCell(revenueTable, formatCurrency(item.getAmount()), normalFont);
+            addTableCell(revenueTable, item.getAccountCode(), PdfStyles.NORMAL_FONT);
+            addTableCell(revenueTable, item.getAccountName(), PdfStyles.NORMAL_FONT);
+            addTableCell(revenueTable, PdfStyles.formatCurrency(item.getAmount()), PdfStyles.NORMAL_FONT);
         }
         
-        addTableCell(revenueTable, "", subHeaderFont);
-        addTableCell(revenueTable, "TOTAL REVENUE", subHeaderFont);
-        addTableCell(revenueTable, formatCurrency(data.getTotalRevenue()), subHeaderFont);
+        addTableCell(revenueTable, "", PdfStyles.SUB_HEADER_FONT);
+        addTableCell(revenueTable, "TOTAL REVENUE", PdfStyles.SUB_HEADER_FONT);
+        addTableCell(revenueTable, PdfStyles.formatCurrency(data.getTotalRevenue()), PdfStyles.SUB_HEADER_FONT);
         
-        document.add(revenueTable);
+        revenueTable.finish();
         
         // Cost of Goods Sold Section
         if (!data.getCostOfGoodsSold().isEmpty()) {
-            Paragraph cogsHeader = new Paragraph("COST OF GOODS SOLD", subHeaderFont);
+            Paragraph cogsHeader = new Paragraph("COST OF GOODS SOLD", PdfStyles.SUB_HEADER_FONT);
             cogsHeader.setSpacingBefore(15);
             document.add(cogsHeader);
             
-            PdfPTable cogsTable = new PdfPTable(3);
-            cogsTable.setWidthPercentage(100);
-            cogsTable.setWidths(new float[]{15f, 60f, 25f});
+            StreamingPdfTable cogsTable = new StreamingPdfTable(document, SECTION_WIDTHS);
             
             for (IncomeStatementData.IncomeStatementItem item : data.getCostOfGoodsSold()) {
-                addTableCell(cogsTable, item.getAccountCode(), normalFont);
-                addTableCell(cogsTable, item.getAccountName(), normalFont);
-                addTableCell(cogsTable, formatCurrency(item.getAmount()), normalFont);
+                addTableCell(cogsTable, item.getAccountCode(), PdfStyles.NORMAL_FONT);
+                addTableCell(cogsTable, item.getAccountName(), PdfStyles.NORMAL_FONT);
+                addTableCell(cogsTable, PdfStyles.formatCurrency(item.getAmount()), PdfStyles.NORMAL_FONT);
             }
             
-            addTableCell(cogsTable, "", subHeaderFont);
-            addTableCell(cogsTable, "TOTAL COST OF GOODS SOLD", subHeaderFont);
-            addTableCell(cogsTable, formatCurrency(data.getTotalCostOfGoodsSold()), subHeaderFont);
+            addTableCell(cogsTable, "", PdfStyles.SUB_HEADER_FONT);
+            addTableCell(cogsTable, "TOTAL COST OF GOODS SOLD", PdfStyles.SUB_HEADER_FONT);
+            addTableCell(cogsTable, PdfStyles.formatCurrency(data.getTotalCostOfGoodsSold()), PdfStyles.SUB_HEADER_FONT);
             
-            document.add(cogsTable);
+            cogsTable.finish();
             
             // Gross Profit
-            PdfPTable grossProfitTable = new PdfPTable(3);
-            grossProfitTable.setWidthPercentage(100);
-            grossProfitTable.setWidths(new float[]{15f, 60f, 25f});
+            StreamingPdfTable grossProfitTable = new StreamingPdfTable(document, SECTION_WIDTHS);
             grossProfitTable.setSpacingBefore(10);
             
-            addTableCell(grossProfitTable, "", headerFont);
-            addTableCell(grossProfitTable, "GROSS PROFIT", headerFont);
-            addTableCell(grossProfitTable, formatCurrency(data.getGrossProfit()), headerFont);
+            addTableCell(grossProfitTable, "", PdfStyles.HEADER_FONT);
+            addTableCell(grossProfitTable, "GROSS PROFIT", PdfStyles.HEADER_FONT);
+            addTableCell(grossProfitTable, PdfStyles.formatCurrency(data.getGrossProfit()), PdfStyles.HEADER_FONT);
             
-            document.add(grossProfitTable);
+            grossProfitTable.finish();
         }
         
         // Expenses Section
-        Paragraph expensesHeader = new Paragraph("EXPENSES", subHeaderFont);
+        Paragraph expensesHeader = new Paragraph("EXPENSES", PdfStyles.SUB_HEADER_FONT);
         expensesHeader.setSpacingBefore(15);
         document.add(expensesHeader);
         
-        PdfPTable expensesTable = new PdfPTable(3);
-        expensesTable.setWidthPercentage(100);
-        expensesTable.setWidths(new float[]{15f, 60f, 25f});
+        StreamingPdfTable expensesTable = new StreamingPdfTable(document, SECTION_WIDTHS);
         
         for (IncomeStatementData.IncomeStatementItem item : data.getExpenses()) {
-            addTableCell(expensesTable, item.getAccountCode(), normalFont);
-            addTableCell(expensesTable, item.getAccountName(), normalFont);
-            addTableCell(expensesTable, formatCurrency(item.getAmount()), normalFont);
+            addTableCell(expensesTable, item.getAccountCode(), PdfStyles.NORMAL_FONT);
+            addTableCell(expensesTable, item.getAccountName(), PdfStyles.NORMAL_FONT);
+            addTableCell(expensesTable, PdfStyles.formatCurrency(item.getAmount()), PdfStyles.NORMAL_FONT);
         }
         
-        addTableCell(expensesTable, "", subHeaderFont);
-        addTableCell(expensesTable, "TOTAL EXPENSES", subHeaderFont);
-        addTableCell(expensesTable, formatCurrency(data.getTotalExpenses()), subHeaderFont);
+        addTableCell(expensesTable, "", PdfStyles.SUB_HEADER_FONT);
+        addTableCell(expensesTable, "TOTAL EXPENSES", PdfStyles.SUB_HEADER_FONT);
+        addTableCell(expensesTable, PdfStyles.formatCurrency(data.getTotalExpenses()), PdfStyles.SUB_HEADER_FONT);
         
-        document.add(expensesTable);
+        expensesTable.finish();
         
         // Net Income
-        PdfPTable netIncomeTable = new PdfPTable(3);
-        netIncomeTable.setWidthPercentage(100);
-        netIncomeTable.setWidths(new float[]{15f, 60f, 25f});
+        StreamingPdfTable netIncomeTable = new StreamingPdfTable(document, SECTION_WIDTHS);
         netIncomeTable.setSpacingBefore(15);
         
-        addTableCell(netIncomeTable, "", headerFont);
-        addTableCell(netIncomeTable, "NET INCOME", headerFont);
+        addTableCell(netIncomeTable, "", PdfStyles.HEADER_FONT);
+        addTableCell(netIncomeTable, "NET INCOME", PdfStyles.HEADER_FONT);
         
-        BaseColor netIncomeColor = data.getNetIncome().compareTo(java.math.BigDecimal.ZERO) >= 0 ? 
-            BaseColor.GREEN : BaseColor.RED;
-        Font netIncomeFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, netIncomeColor);
+        Font netIncomeFont = data.getNetIncome().signum() >= 0 ? PdfStyles.POSITIVE_FONT : PdfStyles.NEGATIVE_FONT;
         
-        PdfPCell netIncomeCell = new PdfPCell(new Phrase(formatCurrency(data.getNetIncome()), netIncomeFont));
-        netIncomeCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
-        netIncomeCell.setPadding(5);
-        netIncomeTable.addCell(netIncomeCell);
+        netIncomeTable.addCell(PdfStyles.formatCurrency(data.getNetIncome()), netIncomeFont, Element.ALIGN_RIGHT);
         
-        document.add(netIncomeTable);
+        netIncomeTable.finish();
         
         document.close();
     }
     
     /**
-     * Add table header cell
+     * Generate PDF General Ledger (landscape). Entries di-stream dari database langsung ke tabel
+     * per account yang di-flush bertahap (StreamingPdfTable), jadi memory tetap konstan berapa pun
+     * jumlah entries di periode tersebut.
      */
-    private void addTableHeader(PdfPTable table, String text, Font font) {
-        PdfPCell header = new PdfPCell(new Phrase(text, font));
-        header.setBackgroundColor(BaseColor.LIGHT_GRAY);
-        header.setHorizontalAlignment(Element.ALIGN_CENTER);
-        header.setPadding(5);
-        table.addCell(header);
+    public void generateGeneralLedgerPDF(GeneralLedgerData data, ReportService reportService, String filePath) 
+            throws DocumentException, IOException {
+        Document document = openDocument(PageSize.A4.rotate(), filePath, "General Ledger");
+        
+        // Header
+        Paragraph title = new Paragraph("GENERAL LEDGER", PdfStyles.TITLE_FONT);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+        
+        Paragraph period = new Paragraph(data.getPeriodDisplay(), PdfStyles.HEADER_FONT);
+        period.setAlignment(Element.ALIGN_CENTER);
+        period.setSpacingAfter(10);
+        document.add(period);
+        
+        // Satu tabel per account
+        reportService.streamGeneralLedger(data, new GeneralLedgerWriter(document));
+        
+        // Total seluruh account
+        StreamingPdfTable totalTable = new StreamingPdfTable(document, GENERAL_LEDGER_WIDTHS);
+        totalTable.setSpacingBefore(20);
+        
+        totalTable.addCell("", PdfStyles.HEADER_FONT, Element.ALIGN_LEFT);
+        totalTable.addCell("", PdfStyles.HEADER_FONT, Element.ALIGN_LEFT);
+        totalTable.addCell("TOTAL", PdfStyles.HEADER_FONT, Element.ALIGN_LEFT);
+        totalTable.addCell(PdfStyles.formatCurrency(data.getTotalDebits()), PdfStyles.HEADER_FONT, Element.ALIGN_RIGHT);
+        totalTable.addCell(PdfStyles.formatCurrency(data.getTotalCredits()), PdfStyles.HEADER_FONT, Element.ALIGN_RIGHT);
+        totalTable.addCell("", PdfStyles.HEADER_FONT, Element.ALIGN_LEFT);
+        
+        totalTable.finish();
+        
+        document.close();
     }
     
     /**
-     * Add table cell
+     * Menulis General Ledger yang di-stream oleh ReportService ke document: judul account,
+     * baris opening balance, baris entries, lalu baris total dan closing balance
      */
-    private void addTableCell(PdfPTable table, String text, Font font) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, font));
-        cell.setHorizontalAlignment(text.matches("\\d.*") ? Element.ALIGN_RIGHT : Element.ALIGN_LEFT);
-        cell.setPadding(5);
-        table.addCell(cell);
+    private class GeneralLedgerWriter implements ReportService.GeneralLedgerHandler {
+        private final Document document;
+        private StreamingPdfTable table;
+        
+        GeneralLedgerWriter(Document document) {
+            this.document = document;
+        }
+        
+        @Override
+        public void startAccount(GeneralLedgerData.AccountLedger account) {
+            try {
+                Paragraph accountHeader = new Paragraph(account.getAccountDisplay() 
+                    + " (Normal: " + account.getNormalBalance() + ")", PdfStyles.SUB_HEADER_FONT);
+                accountHeader.setSpacingBefore(15);
+                accountHeader.setSpacingAfter(5);
+                document.add(accountHeader);
+                
+                table = new StreamingPdfTable(document, GENERAL_LEDGER_WIDTHS);
+                table.addHeaderRow(PdfStyles.HEADER_FONT, "Date", "Transaction", "Description", "Debit", "Credit", "Balance");
+                addRow(PdfStyles.SUB_HEADER_FONT, "", "", "Opening Balance", "", "", PdfStyles.formatCurrency(account.getOpeningBalance()));
+            } catch (DocumentException e) {
+                throw new RuntimeException("Error writing general ledger: " + e.getMessage(), e);
+            }
+        }
+        
+        @Override
+        public void line(GeneralLedgerData.LedgerLine line) {
+            try {
+                addRow(PdfStyles.NORMAL_FONT, 
+                    line.getTransactionDate().format(PdfStyles.ENTRY_DATE_FORMAT), 
+                    line.getTransactionNumber(), 
+                    line.getDescription() != null ? line.getDescription() : "", 
+                    PdfStyles.formatCurrency(line.getDebit()), 
+                    PdfStyles.formatCurrency(line.getCredit()), 
+                    PdfStyles.formatCurrency(line.getBalance()));
+            } catch (DocumentException e) {
+                throw new RuntimeException("Error writing general ledger: " + e.getMessage(), e);
+            }
+        }
+        
+        @Override
+        public void endAccount(GeneralLedgerData.AccountLedger account) {
+            try {
+                addRow(PdfStyles.SUB_HEADER_FONT, "", "", "Total / Closing Balance", 
+                    PdfStyles.formatCurrency(account.getTotalDebit()), 
+                    PdfStyles.formatCurrency(account.getTotalCredit()), 
+                    PdfStyles.formatCurrency(account.getClosingBalance()));
+                table.finish();
+                table = null;
+            } catch (DocumentException e) {
+                throw new RuntimeException("Error writing general ledger: " + e.getMessage(), e);
+            }
+        }
+        
+        /**
+         * Tiga kolom pertama rata kiri, kolom amount rata kanan
+         */
+        private void addRow(Font font, String date, String number, String description, 
+                            String debit, String credit, String balance) throws DocumentException {
+            table.addCell(date, font, Element.ALIGN_LEFT);
+            table.addCell(number, font, Element.ALIGN_LEFT);
+            table.addCell(description, font, Element.ALIGN_LEFT);
+            table.addCell(debit, font, Element.ALIGN_RIGHT);
+            table.addCell(credit, font, Element.ALIGN_RIGHT);
+            table.addCell(balance, font, Element.ALIGN_RIGHT);
+        }
     }
     
     /**
-     * Format currency
+     * Add table cell; teks yang diawali angka rata kanan
      */
-    private String formatCurrency(java.math.BigDecimal amount) {
-        if (amount == null || amount.compareTo(java.math.BigDecimal.ZERO) == 0) {
-            return "-";
-        }
-        return currencyFormat.format(amount);
+    private void addTableCell(StreamingPdfTable table, String text, Font font) throws DocumentException {
+        boolean numeric = !text.isEmpty() && Character.isDigit(text.charAt(0));
+        table.addCell(text, font, numeric ? Element.ALIGN_RIGHT : Element.ALIGN_LEFT);
+    }
+    
+    /**
+     * Membuka document baru ke file, dengan footer (nama laporan, nomor halaman) di setiap halaman
+     */
+    private Document openDocument(Rectangle pageSize, String filePath, String reportName) 
+            throws DocumentException, IOException {
+        Document document = new Document(pageSize);
+        PdfWriter writer = PdfWriter.getInstance(document, new BufferedOutputStream(new FileOutputStream(filePath)));
+        writer.setPageEvent(new ReportPageFooter(reportName));
+        document.open();
+        return document;
     }
 }
@@ -1,15 +1,21 @@
 package com.bookkeeping.service;
 
 import com.bookkeeping.dao.AccountDAO;
+import com.bookkeeping.dao.AccountDailyBalanceDAO;
 import com.bookkeeping.dao.TransactionEntryDAO;
 import com.bookkeeping.entity.Account;
 import com.bookkeeping.entity.AccountType;
-import com.bookkeeping.entity.TransactionEntry;
 import com.bookkeeping.model.BalanceSheetData;
+import com.bookkeeping.model.FinancialStatementsData;
+import com.bookkeeping.model.GeneralLedgerData;
 import com.bookkeeping.model.IncomeStatementData;
 import com.bookkeeping.model.TrialBalanceData;
+import com.bookkeeping.util.Money;
+import com.bookkeeping.util.MoneyAccumulator;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -21,10 +27,12 @@ public class ReportService {
     
     private final AccountDAO accountDAO;
     private final TransactionEntryDAO entryDAO;
+    private final AccountDailyBalanceDAO dailyBalanceDAO;
     
     public ReportService() {
         this.accountDAO = new AccountDAO();
         this.entryDAO = new TransactionEntryDAO();
+        this.dailyBalanceDAO = new AccountDailyBalanceDAO();
     }
     
     /**
@@ -32,232 +40,407 @@ public class ReportService {
      */
     public TrialBalanceData generateTrialBalance(LocalDate asOfDate) {
         List<Account> accounts = accountDAO.findActiveAccounts();
+        Map<Long, TransactionEntryDAO.AccountTotals> accountTotals = entryDAO.calculateTotalsForAllAccountsAsOf(asOfDate);
+        return buildTrialBalance(asOfDate, accounts, accountTotals);
+    }
+    
+    /**
+     * Generate Balance Sheet
+     */
+    public BalanceSheetData generateBalanceSheet(LocalDate asOfDate) {
+        Map<AccountType, List<Account>> accountsByType = groupByType(accountDAO.findAll());
+        Map<Long, Long> runningBalances = new HashMap<>();
+        dailyBalanceDAO.findRunningBalancesAsOf(asOfDate)
+            .forEach((accountId, balance) -> runningBalances.put(accountId, Money.toMinor(balance)));
+        return buildBalanceSheet(asOfDate, accountsByType, runningBalances);
+    }
+    
+    /**
+     * Generate Income Statement (Profit & Loss)
+     */
+    public IncomeStatementData generateIncomeStatement(LocalDate startDate, LocalDate endDate) {
+        Map<AccountType, List<Account>> accountsByType = groupByType(accountDAO.findAll());
+        Map<Long, TransactionEntryDAO.AccountTotals> periodTotals = 
+            entryDAO.calculateTotalsForAllAccountsInPeriod(startDate, endDate);
+        return buildIncomeStatement(startDate, endDate, accountsByType, periodTotals);
+    }
+    
+    /**
+     * Generate Trial Balance, Balance Sheet dan Income Statement sekaligus (month-end close).
+     * Daftar account dibaca sekali dan entries sampai endDate di-stream satu kali; setiap entry
+     * diakumulasi ke total kumulatif (Trial Balance, Balance Sheet per endDate) dan, bila masuk
+     * periode, ke total periode (Income Statement).
+     */
+    public FinancialStatementsData generateFinancialStatements(LocalDate startDate, LocalDate endDate) {
+        List<Account> accounts = accountDAO.findAll();
+        Map<Long, AccountAccumulator> accumulators = new HashMap<>(accounts.size() * 2);
+        
+        entryDAO.streamAmountsUpTo(startDate, endDate, (accountId, debit, credit, inPeriod) -> {
+            AccountAccumulator accumulator = accumulators.computeIfAbsent(accountId, id -> new AccountAccumulator());
+            accumulator.add(debit, credit, inPeriod);
+        });
+        
+        Map<Long, TransactionEntryDAO.AccountTotals> cumulativeTotals = new HashMap<>(accumulators.size() * 2);
+        Map<Long, TransactionEntryDAO.AccountTotals> periodTotals = new HashMap<>(accumulators.size() * 2);
+        Map<Long, Long> runningBalances = new HashMap<>(accumulators.size() * 2);
+        for (Map.Entry<Long, AccountAccumulator> entry : accumulators.entrySet()) {
+            Long accountId = entry.getKey();
+            AccountAccumulator accumulator = entry.getValue();
+            cumulativeTotals.put(accountId, 
+                new TransactionEntryDAO.AccountTotals(accountId, accumulator.totalDebit, accumulator.totalCredit));
+            periodTotals.put(accountId, 
+                new TransactionEntryDAO.AccountTotals(accountId, accumulator.periodDebit, accumulator.periodCredit));
+            runningBalances.put(accountId, Money.subtract(accumulator.totalDebit, accumulator.totalCredit));
+        }
+        
+        List<Account> activeAccounts = accounts.stream()
+            .filter(account -> Boolean.TRUE.equals(account.getIsActive()))
+            .collect(Collectors.toList());
+        Map<AccountType, List<Account>> accountsByType = groupByType(accounts);
+        
+        FinancialStatementsData statements = new FinancialStatementsData();
+        statements.setTrialBalance(buildTrialBalance(endDate, activeAccounts, cumulativeTotals));
+        statements.setBalanceSheet(buildBalanceSheet(endDate, accountsByType, runningBalances));
+        statements.setIncomeStatement(buildIncomeStatement(startDate, endDate, accountsByType, periodTotals));
+        return statements;
+    }
+    
+    /**
+     * Generate General Ledger: header semua account dengan opening balance per hari sebelum startDate
+     * (dari rollup harian, sama dengan Balance Sheet). Entries periode tidak dimuat di sini,
+     * melainkan di-stream ke handler oleh streamGeneralLedger.
+     */
+    public GeneralLedgerData generateGeneralLedger(LocalDate startDate, LocalDate endDate) {
+        GeneralLedgerData ledger = new GeneralLedgerData();
+        ledger.setStartDate(startDate);
+        ledger.setEndDate(endDate);
+        
+        Map<Long, BigDecimal> openingBalances = dailyBalanceDAO.findRunningBalancesAsOf(startDate.minusDays(1));
+        for (Account account : accountDAO.findAll()) {
+            BigDecimal runningBalance = openingBalances.get(account.getId());
+            long openingBalance = toNormalBalance(account, runningBalance != null ? Money.toMinor(runningBalance) : null);
+            
+            GeneralLedgerData.AccountLedger accountLedger = new GeneralLedgerData.AccountLedger();
+            accountLedger.setAccountId(account.getId());
+            accountLedger.setAccountCode(account.getAccountCode());
+            accountLedger.setAccountName(account.getAccountName());
+            accountLedger.setDebitNormal(account.getAccountType().isDebitNormal());
+            accountLedger.setOpeningBalance(Money.toBigDecimal(openingBalance));
+            ledger.addAccount(accountLedger);
+        }
+        
+        return ledger;
+    }
+    
+    /**
+     * Men-stream entries General Ledger ke handler, per account (urut kode) lalu per (tanggal, nomor
+     * transaksi), dengan running balance yang dihitung incremental dari opening balance. Account tanpa
+     * opening balance dan tanpa mutasi di periode dilewati. Total dan closing balance per account serta
+     * total seluruh periode diisi ke model. Memory tidak bergantung pada jumlah entries.
+     */
+    public void streamGeneralLedger(GeneralLedgerData ledger, GeneralLedgerHandler handler) {
+        List<Long> accountIds = new ArrayList<>(ledger.getAccounts().size());
+        for (GeneralLedgerData.AccountLedger account : ledger.getAccounts()) {
+            accountIds.add(account.getAccountId());
+        }
+        
+        LedgerCursor cursor = new LedgerCursor(ledger.getAccounts(), handler);
+        entryDAO.streamLedgerEntries(accountIds, ledger.getStartDate(), ledger.getEndDate(), cursor::accept);
+        cursor.finish();
+        
+        ledger.setTotalDebits(cursor.totalDebits.toBigDecimal());
+        ledger.setTotalCredits(cursor.totalCredits.toBigDecimal());
+    }
+    
+    private Map<AccountType, List<Account>> groupByType(List<Account> accounts) {
+        return accounts.stream().collect(Collectors.groupingBy(Account::getAccountType));
+    }
+    
+    private TrialBalanceData buildTrialBalance(LocalDate asOfDate, List<Account> accounts, 
+                                               Map<Long, TransactionEntryDAO.AccountTotals> accountTotals) {
         TrialBalanceData trialBalance = new TrialBalanceData();
         trialBalance.setAsOfDate(asOfDate);
         
-        BigDecimal totalDebits = BigDecimal.ZERO;
-        BigDecimal totalCredits = BigDecimal.ZERO;
+        MoneyAccumulator totalDebits = new MoneyAccumulator();
+        MoneyAccumulator totalCredits = new MoneyAccumulator();
         
         for (Account account : accounts) {
-            BigDecimal debitTotal = entryDAO.calculateTotalDebitForAccount(account.getId());
-            BigDecimal creditTotal = entryDAO.calculateTotalCreditForAccount(account.getId());
+            TransactionEntryDAO.AccountTotals totals = accountTotals.get(account.getId());
+            long debitTotal = totals != null ? totals.getTotalDebitMinor() : 0;
+            long creditTotal = totals != null ? totals.getTotalCreditMinor() : 0;
             
             TrialBalanceData.TrialBalanceItem item = new TrialBalanceData.TrialBalanceItem();
             item.setAccountCode(account.getAccountCode());
             item.setAccountName(account.getAccountName());
-            item.setDebitBalance(debitTotal);
-            item.setCreditBalance(creditTotal);
             
-            // Calculate net balance based on account type
-            if (account.getAccountType().isDebitNormal()) {
-                BigDecimal netBalance = debitTotal.subtract(creditTotal);
-                if (netBalance.compareTo(BigDecimal.ZERO) > 0) {
-                    item.setDebitBalance(netBalance);
-                    item.setCreditBalance(BigDecimal.ZERO);
-                    totalDebits = totalDebits.add(netBalance);
-                } else {
-                    item.setDebitBalance(BigDecimal.ZERO);
-                    item.setCreditBalance(netBalance.abs());
-                    totalCredits = totalCredits.add(netBalance.abs());
-                }
+            // Net balance sesuai saldo normal account; saldo negatif pindah ke sisi sebaliknya
+            long netBalance = account.normalDeltaMinor(debitTotal, creditTotal);
+            boolean debitSide = account.getAccountType().isDebitNormal() == netBalance > 0;
+            long amount = Math.absExact(netBalance);
+            if (debitSide) {
+                item.setDebitBalance(Money.toBigDecimal(amount));
+                item.setCreditBalance(BigDecimal.ZERO);
+                totalDebits.add(amount);
             } else {
-                BigDecimal netBalance = creditTotal.subtract(debitTotal);
-                if (netBalance.compareTo(BigDecimal.ZERO) > 0) {
-                    item.setCreditBalance(netBalance);
-                    item.setDebitBalance(BigDecimal.ZERO);
-                    totalCredits = totalCredits.add(netBalance);
-                } else {
-                    item.setCreditBalance(BigDecimal.ZERO);
-                    item.setDebitBalance(netBalance.abs());
-                    totalDebits = totalDebits.add(netBalance.abs());
-                }
+                item.setDebitBalance(BigDecimal.ZERO);
+                item.setCreditBalance(Money.toBigDecimal(amount));
+                totalCredits.add(amount);
             }
             
             trialBalance.addItem(item);
         }
         
-        trialBalance.setTotalDebits(totalDebits);
-        trialBalance.setTotalCredits(totalCredits);
+        trialBalance.setTotalDebits(totalDebits.toBigDecimal());
+        trialBalance.setTotalCredits(totalCredits.toBigDecimal());
         
         return trialBalance;
     }
     
-    /**
-     * Generate Balance Sheet
-     */
-    public BalanceSheetData generateBalanceSheet(LocalDate asOfDate) {
+    private BalanceSheetData buildBalanceSheet(LocalDate asOfDate, Map<AccountType, List<Account>> accountsByType, 
+                                               Map<Long, Long> runningBalances) {
         BalanceSheetData balanceSheet = new BalanceSheetData();
         balanceSheet.setAsOfDate(asOfDate);
         
         // Assets
-        List<Account> assetAccounts = accountDAO.findByAccountType(AccountType.ASSET);
-        BigDecimal totalAssets = BigDecimal.ZERO;
+        List<Account> assetAccounts = accountsByType.getOrDefault(AccountType.ASSET, List.of());
+        MoneyAccumulator totalAssets = new MoneyAccumulator();
         
         for (Account account : assetAccounts) {
-            BigDecimal balance = calculateAccountBalance(account.getId(), asOfDate);
-            if (balance.compareTo(BigDecimal.ZERO) != 0) {
+            long balance = toNormalBalance(account, runningBalances.get(account.getId()));
+            if (balance != 0) {
                 BalanceSheetData.BalanceSheetItem item = new BalanceSheetData.BalanceSheetItem();
                 item.setAccountCode(account.getAccountCode());
                 item.setAccountName(account.getAccountName());
-                item.setAmount(balance);
+                item.setAmount(Money.toBigDecimal(balance));
                 balanceSheet.addAsset(item);
-                totalAssets = totalAssets.add(balance);
+                totalAssets.add(balance);
             }
         }
-        balanceSheet.setTotalAssets(totalAssets);
+        balanceSheet.setTotalAssets(totalAssets.toBigDecimal());
         
         // Liabilities
-        List<Account> liabilityAccounts = accountDAO.findByAccountType(AccountType.LIABILITY);
-        BigDecimal totalLiabilities = BigDecimal.ZERO;
+        List<Account> liabilityAccounts = accountsByType.getOrDefault(AccountType.LIABILITY, List.of());
+        MoneyAccumulator totalLiabilities = new MoneyAccumulator();
         
         for (Account account : liabilityAccounts) {
-            BigDecimal balance = calculateAccountBalance(account.getId(), asOfDate);
-            if (balance.compareTo(BigDecimal.ZERO) != 0) {
+            long balance = toNormalBalance(account, runningBalances.get(account.getId()));
+            if (balance != 0) {
                 BalanceSheetData.BalanceSheetItem item = new BalanceSheetData.BalanceSheetItem();
                 item.setAccountCode(account.getAccountCode());
                 item.setAccountName(account.getAccountName());
-                item.setAmount(balance);
+                item.setAmount(Money.toBigDecimal(balance));
                 balanceSheet.addLiability(item);
-                totalLiabilities = totalLiabilities.add(balance);
+                totalLiabilities.add(balance);
             }
         }
-        balanceSheet.setTotalLiabilities(totalLiabilities);
+        balanceSheet.setTotalLiabilities(totalLiabilities.toBigDecimal());
         
         // Equity
-        List<Account> equityAccounts = accountDAO.findByAccountType(AccountType.EQUITY);
-        BigDecimal totalEquity = BigDecimal.ZERO;
+        List<Account> equityAccounts = accountsByType.getOrDefault(AccountType.EQUITY, List.of());
+        MoneyAccumulator totalEquity = new MoneyAccumulator();
         
         for (Account account : equityAccounts) {
-            BigDecimal balance = calculateAccountBalance(account.getId(), asOfDate);
-            if (balance.compareTo(BigDecimal.ZERO) != 0) {
+            long balance = toNormalBalance(account, runningBalances.get(account.getId()));
+            if (balance != 0) {
                 BalanceSheetData.BalanceSheetItem item = new BalanceSheetData.BalanceSheetItem();
                 item.setAccountCode(account.getAccountCode());
                 item.setAccountName(account.getAccountName());
-                item.setAmount(balance);
+                item.setAmount(Money.toBigDecimal(balance));
                 balanceSheet.addEquity(item);
-                totalEquity = totalEquity.add(balance);
+                totalEquity.add(balance);
             }
         }
-        balanceSheet.setTotalEquity(totalEquity);
-        balanceSheet.setTotalLiabilitiesAndEquity(totalLiabilities.add(totalEquity));
+        balanceSheet.setTotalEquity(totalEquity.toBigDecimal());
+        balanceSheet.setTotalLiabilitiesAndEquity(Money.toBigDecimal(Money.add(totalLiabilities.get(), totalEquity.get())));
         
         return balanceSheet;
     }
     
-    /**
-     * Generate Income Statement (Profit & Loss)
-     */
-    public IncomeStatementData generateIncomeStatement(LocalDate startDate, LocalDate endDate) {
+    private IncomeStatementData buildIncomeStatement(LocalDate startDate, LocalDate endDate, 
+                                                     Map<AccountType, List<Account>> accountsByType, 
+                                                     Map<Long, TransactionEntryDAO.AccountTotals> periodTotals) {
         IncomeStatementData incomeStatement = new IncomeStatementData();
         incomeStatement.setStartDate(startDate);
         incomeStatement.setEndDate(endDate);
         
         // Revenue
-        List<Account> revenueAccounts = accountDAO.findByAccountType(AccountType.REVENUE);
-        BigDecimal totalRevenue = BigDecimal.ZERO;
+        List<Account> revenueAccounts = accountsByType.getOrDefault(AccountType.REVENUE, List.of());
+        MoneyAccumulator totalRevenue = new MoneyAccumulator();
         
         for (Account account : revenueAccounts) {
-            BigDecimal balance = calculateAccountBalanceForPeriod(account.getId(), startDate, endDate);
-            if (balance.compareTo(BigDecimal.ZERO) != 0) {
+            long balance = toNormalBalance(account, periodTotals.get(account.getId()));
+            if (balance != 0) {
                 IncomeStatementData.IncomeStatementItem item = new IncomeStatementData.IncomeStatementItem();
                 item.setAccountCode(account.getAccountCode());
                 item.setAccountName(account.getAccountName());
-                item.setAmount(balance);
+                item.setAmount(Money.toBigDecimal(balance));
                 incomeStatement.addRevenue(item);
-                totalRevenue = totalRevenue.add(balance);
+                totalRevenue.add(balance);
             }
         }
-        incomeStatement.setTotalRevenue(totalRevenue);
+        incomeStatement.setTotalRevenue(totalRevenue.toBigDecimal());
         
         // Cost of Goods Sold
-        List<Account> cogsAccounts = accountDAO.findByAccountType(AccountType.COST_OF_GOODS_SOLD);
-        BigDecimal totalCOGS = BigDecimal.ZERO;
+        List<Account> cogsAccounts = accountsByType.getOrDefault(AccountType.COST_OF_GOODS_SOLD, List.of());
+        MoneyAccumulator totalCOGS = new MoneyAccumulator();
         
         for (Account account : cogsAccounts) {
-            BigDecimal balance = calculateAccountBalanceForPeriod(account.getId(), startDate, endDate);
-            if (balance.compareTo(BigDecimal.ZERO) != 0) {
+            long balance = toNormalBalance(account, periodTotals.get(account.getId()));
+            if (balance != 0) {
                 IncomeStatementData.IncomeStatementItem item = new IncomeStatementData.IncomeStatementItem();
                 item.setAccountCode(account.getAccountCode());
                 item.setAccountName(account.getAccountName());
-                item.setAmount(balance);
+                item.setAmount(Money.toBigDecimal(balance));
                 incomeStatement.addCostOfGoodsSold(item);
-                totalCOGS = totalCOGS.add(balance);
+                totalCOGS.add(balance);
             }
         }
-        incomeStatement.setTotalCostOfGoodsSold(totalCOGS);
-        incomeStatement.setGrossProfit(totalRevenue.subtract(totalCOGS));
+        incomeStatement.setTotalCostOfGoodsSold(totalCOGS.toBigDecimal());
+        long grossProfit = Money.subtract(totalRevenue.get(), totalCOGS.get());
+        incomeStatement.setGrossProfit(Money.toBigDecimal(grossProfit));
         
         // Expenses
-        List<Account> expenseAccounts = accountDAO.findByAccountType(AccountType.EXPENSE);
-        BigDecimal totalExpenses = BigDecimal.ZERO;
+        List<Account> expenseAccounts = accountsByType.getOrDefault(AccountType.EXPENSE, List.of());
+        MoneyAccumulator totalExpenses = new MoneyAccumulator();
         
         for (Account account : expenseAccounts) {
-            BigDecimal balance = calculateAccountBalanceForPeriod(account.getId(), startDate, endDate);
-            if (balance.compareTo(BigDecimal.ZERO) != 0) {
+            long balance = toNormalBalance(account, periodTotals.get(account.getId()));
+            if (balance != 0) {
                 IncomeStatementData.IncomeStatementItem item = new IncomeStatementData.IncomeStatementItem();
                 item.setAccountCode(account.getAccountCode());
                 item.setAccountName(account.getAccountName());
-                item.setAmount(balance);
+                item.setAmount(Money.toBigDecimal(balance));
                 incomeStatement.addExpense(item);
-                totalExpenses = totalExpenses.add(balance);
+                totalExpenses.add(balance);
             }
         }
-        incomeStatement.setTotalExpenses(totalExpenses);
-        incomeStatement.setNetIncome(incomeStatement.getGrossProfit().subtract(totalExpenses));
+        incomeStatement.setTotalExpenses(totalExpenses.toBigDecimal());
+        incomeStatement.setNetIncome(Money.toBigDecimal(Money.subtract(grossProfit, totalExpenses.get())));
         
         return incomeStatement;
     }
     
     /**
-     * Calculate account balance as of specific date
+     * Convert running balance (debit - credit, satuan minor) ke saldo normal account
      */
-    private BigDecimal calculateAccountBalance(Long accountId, LocalDate asOfDate) {
-        List<TransactionEntry> entries = entryDAO.findByAccountIdAndDateRange(accountId, 
-            LocalDate.of(1900, 1, 1), asOfDate);
-        
-        BigDecimal totalDebits = entries.stream()
-            .filter(entry -> entry.getDebitAmount() != null)
-            .map(TransactionEntry::getDebitAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-        BigDecimal totalCredits = entries.stream()
-            .filter(entry -> entry.getCreditAmount() != null)
-            .map(TransactionEntry::getCreditAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        Account account = accountDAO.findById(accountId).orElse(null);
-        if (account == null) return BigDecimal.ZERO;
-        
-        if (account.getAccountType().isDebitNormal()) {
-            return totalDebits.subtract(totalCredits);
-        } else {
-            return totalCredits.subtract(totalDebits);
+    private long toNormalBalance(Account account, Long runningBalance) {
+        if (runningBalance == null) return 0;
+        return account.getAccountType().isDebitNormal() ? runningBalance : Money.negate(runningBalance);
+    }
+    
+    /**
+     * Convert total debit/credit periode ke saldo normal account
+     */
+    private long toNormalBalance(Account account, TransactionEntryDAO.AccountTotals totals) {
+        if (totals == null) return 0;
+        return account.normalDeltaMinor(totals.getTotalDebitMinor(), totals.getTotalCreditMinor());
+    }
+    
+    /**
+     * Akumulator total debit/credit per account untuk single-pass report (satuan minor, tanpa alokasi per entry)
+     */
+    private static class AccountAccumulator {
+        private long totalDebit;
+        private long totalCredit;
+        private long periodDebit;
+        private long periodCredit;
+        
+        void add(long debit, long credit, boolean inPeriod) {
+            totalDebit = Money.add(totalDebit, debit);
+            totalCredit = Money.add(totalCredit, credit);
+            if (inPeriod) {
+                periodDebit = Money.add(periodDebit, debit);
+                periodCredit = Money.add(periodCredit, credit);
+            }
         }
     }
     
     /**
-     * Calculate account balance for specific period
+     * Penerima General Ledger yang di-stream: startAccount, baris-baris entry, lalu endAccount
+     * (total dan closing balance account sudah terisi) untuk setiap account yang ditampilkan
      */
-    private BigDecimal calculateAccountBalanceForPeriod(Long accountId, LocalDate startDate, LocalDate endDate) {
-        List<TransactionEntry> entries = entryDAO.findByAccountIdAndDateRange(accountId, startDate, endDate);
+    public interface GeneralLedgerHandler {
+        void startAccount(GeneralLedgerData.AccountLedger account);
+        
+        void line(GeneralLedgerData.LedgerLine line);
         
-        BigDecimal totalDebits = entries.stream()
-            .filter(entry -> entry.getDebitAmount() != null)
-            .map(TransactionEntry::getDebitAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        void endAccount(GeneralLedgerData.AccountLedger account);
+    }
+    
+    /**
+     * Posisi streaming General Ledger: account yang sedang berjalan dan running balance-nya
+     * (satuan minor). Entries datang berkelompok per account sesuai urutan daftar account.
+     */
+    private static class LedgerCursor {
+        private final List<GeneralLedgerData.AccountLedger> accounts;
+        private final GeneralLedgerHandler handler;
+        private final GeneralLedgerData.LedgerLine line = new GeneralLedgerData.LedgerLine();
+        private final MoneyAccumulator totalDebits = new MoneyAccumulator();
+        private final MoneyAccumulator totalCredits = new MoneyAccumulator();
+        private int index = -1;
+        private GeneralLedgerData.AccountLedger current;
+        private boolean started;
+        private long balance;
+        private long accountDebit;
+        private long accountCredit;
+        
+        LedgerCursor(List<GeneralLedgerData.AccountLedger> accounts, GeneralLedgerHandler handler) {
+            this.accounts = accounts;
+            this.handler = handler;
+            advance();
+        }
+        
+        void accept(long accountId, LocalDate transactionDate, String transactionNumber, String description, 
+                    long debit, long credit) {
+            while (current.getAccountId() != accountId) {
+                advance();
+            }
+            if (!started) {
+                start();
+            }
+            
+            accountDebit = Money.add(accountDebit, debit);
+            accountCredit = Money.add(accountCredit, credit);
+            balance = Money.add(balance, current.isDebitNormal() ? Money.subtract(debit, credit) : Money.subtract(credit, debit));
+            line.set(transactionDate, transactionNumber, description, debit, credit, balance);
+            handler.line(line);
+        }
+        
+        void finish() {
+            while (current != null) {
+                advance();
+            }
+        }
+        
+        private void start() {
+            started = true;
+            handler.startAccount(current);
+        }
+        
+        /**
+         * Menutup account yang sedang berjalan lalu pindah ke account berikutnya
+         */
+        private void advance() {
+            if (current != null) {
+                if (!started && balance != 0) {
+                    start();
+                }
+                if (started) {
+                    current.setTotalDebit(Money.toBigDecimal(accountDebit));
+                    current.setTotalCredit(Money.toBigDecimal(accountCredit));
+                    current.setClosingBalance(Money.toBigDecimal(balance));
+                    totalDebits.add(accountDebit);
+                    totalCredits.add(accountCredit);
+                    handler.endAccount(current);
+                }
+            }
             
-        BigDecimal totalCredits = entries.stream()
-            .filter(entry -> entry.getCreditAmount() != null)
-            .map(TransactionEntry::getCreditAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        Account account = accountDAO.findById(accountId).orElse(null);
-        if (account == null) return BigDecimal.ZERO;
-        
-        if (account.getAccountType().isDebitNormal()) {
-            return totalDebits.subtract(totalCredits);
-        } else {
-            return totalCredits.subtract(totalDebits);
+            index++;
+            current = index < accounts.size() ? accounts.get(index) : null;
+            started = false;
+            accountDebit = 0;
+            accountCredit = 0;
+            balance = current != null ? Money.toMinor(current.getOpeningBalance()) : 0;
         }
     }
 }
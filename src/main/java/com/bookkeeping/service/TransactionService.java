@@ -1,11 +1,14 @@
 package com.bookkeeping.service;
 
 import com.bookkeeping.dao.TransactionDAO;
+import com.bookkeeping.dao.TransactionBatchDAO;
 import com.bookkeeping.dao.TransactionEntryDAO;
-import com.bookkeeping.dao.AccountDAO;
+import com.bookkeeping.dao.AccountDailyBalanceDAO;
+import com.bookkeeping.dao.ImportLogDAO;
 import com.bookkeeping.entity.Transaction;
 import com.bookkeeping.entity.TransactionEntry;
 import com.bookkeeping.entity.Account;
+import com.bookkeeping.util.BalanceLedger;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -18,12 +21,16 @@ public class TransactionService {
     
     private final TransactionDAO transactionDAO;
     private final TransactionEntryDAO entryDAO;
-    private final AccountDAO accountDAO;
+    private final AccountDailyBalanceDAO dailyBalanceDAO;
+    private final TransactionBatchDAO transactionBatchDAO;
     
     public TransactionService() {
         this.transactionDAO = new TransactionDAO();
         this.entryDAO = new TransactionEntryDAO();
-        this.accountDAO = new AccountDAO();
+        this.dailyBalanceDAO = new AccountDailyBalanceDAO();
+        this.transactionBatchDAO = new TransactionBatchDAO();
+        this.dailyBalanceDAO.ensureInitialized();
+        BalanceLedger.ensureReconciled();
     }
     
     /**
@@ -39,87 +46,51 @@ public class TransactionService {
     }
     
     /**
-     * Menambah entry ke transaksi
+     * Menambah entry ke transaksi; entry dan rollup harian ditulis dalam satu database transaction
+     * (balance account menyusul lewat BalanceLedger)
      */
     public void addTransactionEntry(Long transactionId, Long accountId, BigDecimal debitAmount, BigDecimal creditAmount, String description) {
-        Optional<Transaction> transactionOpt = transactionDAO.findById(transactionId);
-        Optional<Account> accountOpt = accountDAO.findById(accountId);
+        validateEntryAmounts(debitAmount, creditAmount);
         
-        if (transactionOpt.isEmpty()) {
-            throw new IllegalArgumentException("Transaction not found with ID: " + transactionId);
-        }
-        
-        if (accountOpt.isEmpty()) {
-            throw new IllegalArgumentException("Account not found with ID: " + accountId);
-        }
-        
-        // Validasi hanya boleh ada debit atau credit, tidak keduanya
-        if ((debitAmount != null && debitAmount.compareTo(BigDecimal.ZERO) > 0) && 
-            (creditAmount != null && creditAmount.compareTo(BigDecimal.ZERO) > 0)) {
-            throw new IllegalArgumentException("Entry cannot have both debit and credit amounts");
-        }
-        
-        if ((debitAmount == null || debitAmount.compareTo(BigDecimal.ZERO) <= 0) && 
-            (creditAmount == null || creditAmount.compareTo(BigDecimal.ZERO) <= 0)) {
-            throw new IllegalArgumentException("Entry must have either debit or credit amount");
-        }
-        
-        Transaction transaction = transactionOpt.get();
-        Account account = accountOpt.get();
-        
-        TransactionEntry entry = new TransactionEntry(account, debitAmount, creditAmount, description);
-        transaction.addEntry(entry);
-        
-        transactionDAO.save(transaction);
-        
-        // Update account balance
-        updateAccountBalance(account, debitAmount, creditAmount);
+        Account account = new Account();
+        account.setId(accountId);
+        transactionDAO.addEntry(transactionId, new TransactionEntry(account, debitAmount, creditAmount, description));
     }
     
     /**
-     * Update account balance berdasarkan entry
+     * Membuat transaksi lengkap dengan entries. Semua entry divalidasi di memory lebih dulu,
+     * lalu header, entries dan rollup harian ditulis dalam satu database transaction
+     * (balance account menyusul lewat BalanceLedger).
      */
-    private void updateAccountBalance(Account account, BigDecimal debitAmount, BigDecimal creditAmount) {
-        BigDecimal currentBalance = account.getBalance();
-        BigDecimal newBalance = currentBalance;
-        
-        if (debitAmount != null && debitAmount.compareTo(BigDecimal.ZERO) > 0) {
-            if (account.getAccountType().isDebitNormal()) {
-                newBalance = currentBalance.add(debitAmount);
-            } else {
-                newBalance = currentBalance.subtract(debitAmount);
-            }
-        }
-        
-        if (creditAmount != null && creditAmount.compareTo(BigDecimal.ZERO) > 0) {
-            if (account.getAccountType().isCreditNormal()) {
-                newBalance = currentBalance.add(creditAmount);
-            } else {
-                newBalance = currentBalance.subtract(creditAmount);
-            }
-        }
-        
-        account.setBalance(newBalance);
-        accountDAO.save(account);
+    public Transaction createCompleteTransaction(String description, LocalDate transactionDate, 
+                                               String reference, List<TransactionEntryData> entries) {
+        return transactionDAO.post(prepareTransaction(description, transactionDate, reference, entries));
     }
     
     /**
-     * Membuat transaksi lengkap dengan entries
+     * Menyusun dan memvalidasi transaksi lengkap di memory tanpa menyentuh database.
+     * Account pada setiap entry hanya berisi ID.
      */
-    public Transaction createCompleteTransaction(String description, LocalDate transactionDate, 
-                                               String reference, List<TransactionEntryData> entries) {
-        Transaction transaction = createTransaction(description, transactionDate, reference);
+    public Transaction prepareTransaction(String description, LocalDate transactionDate, 
+                                          String reference, List<TransactionEntryData> entries) {
+        if (entries == null || entries.isEmpty()) {
+            throw new IllegalArgumentException("Transaction must have at least one entry");
+        }
+        
+        Transaction transaction = new Transaction(null, transactionDate, description);
+        transaction.setReference(reference);
         
         for (TransactionEntryData entryData : entries) {
-            addTransactionEntry(transaction.getId(), entryData.accountId, 
-                              entryData.debitAmount, entryData.creditAmount, entryData.description);
+            validateEntryAmounts(entryData.debitAmount, entryData.creditAmount);
+            
+            Account account = new Account();
+            account.setId(entryData.accountId);
+            transaction.addEntry(new TransactionEntry(account, entryData.debitAmount, 
+                                                      entryData.creditAmount, entryData.description));
         }
         
-        // Validasi transaksi harus balance
-        transaction = transactionDAO.findById(transaction.getId()).orElseThrow();
+        // Validasi transaksi harus balance sebelum menyentuh database
         if (!transaction.isBalanced()) {
-            // Rollback transaction
-            transactionDAO.delete(transaction.getId());
             throw new IllegalArgumentException("Transaction is not balanced. Total debits must equal total credits.");
         }
         
@@ -127,65 +98,48 @@ public class TransactionService {
     }
     
     /**
-     * Update transaksi
+     * Menyimpan sekumpulan transaksi hasil prepareTransaction dalam satu database transaction
+     * (dipakai bulk import)
      */
-    public Transaction updateTransaction(Long id, String description, LocalDate transactionDate, String reference) {
-        Optional<Transaction> existingTransaction = transactionDAO.findById(id);
-        if (existingTransaction.isEmpty()) {
-            throw new IllegalArgumentException("Transaction not found with ID: " + id);
-        }
-        
-        Transaction transaction = existingTransaction.get();
-        transaction.setDescription(description);
-        transaction.setTransactionDate(transactionDate);
-        transaction.setReference(reference);
-        
-        return transactionDAO.save(transaction);
+    public int postTransactionBatch(List<Transaction> transactions) {
+        return transactionBatchDAO.insertBatch(transactions);
     }
     
     /**
-     * Menghapus transaksi
+     * Menyimpan batch import bersama checkpoint import log-nya dalam satu database transaction
      */
-    public boolean deleteTransaction(Long id) {
-        Optional<Transaction> transaction = transactionDAO.findById(id);
-        if (transaction.isEmpty()) {
-            return false;
-        }
-        
-        // Reverse account balances
-        Transaction trans = transaction.get();
-        for (TransactionEntry entry : trans.getEntries()) {
-            reverseAccountBalance(entry.getAccount(), entry.getDebitAmount(), entry.getCreditAmount());
-        }
-        
-        return transactionDAO.delete(id);
+    public int postTransactionBatch(List<Transaction> transactions, ImportLogDAO.Checkpoint checkpoint) {
+        return transactionBatchDAO.insertBatch(transactions, checkpoint);
     }
     
     /**
-     * Reverse account balance saat menghapus transaksi
+     * Validasi hanya boleh ada debit atau credit, tidak keduanya
      */
-    private void reverseAccountBalance(Account account, BigDecimal debitAmount, BigDecimal creditAmount) {
-        BigDecimal currentBalance = account.getBalance();
-        BigDecimal newBalance = currentBalance;
-        
-        if (debitAmount != null && debitAmount.compareTo(BigDecimal.ZERO) > 0) {
-            if (account.getAccountType().isDebitNormal()) {
-                newBalance = currentBalance.subtract(debitAmount);
-            } else {
-                newBalance = currentBalance.add(debitAmount);
-            }
+    private void validateEntryAmounts(BigDecimal debitAmount, BigDecimal creditAmount) {
+        if ((debitAmount != null && debitAmount.compareTo(BigDecimal.ZERO) > 0) && 
+            (creditAmount != null && creditAmount.compareTo(BigDecimal.ZERO) > 0)) {
+            throw new IllegalArgumentException("Entry cannot have both debit and credit amounts");
         }
         
-        if (creditAmount != null && creditAmount.compareTo(BigDecimal.ZERO) > 0) {
-            if (account.getAccountType().isCreditNormal()) {
-                newBalance = currentBalance.subtract(creditAmount);
-            } else {
-                newBalance = currentBalance.add(creditAmount);
-            }
+        if ((debitAmount == null || debitAmount.compareTo(BigDecimal.ZERO) <= 0) && 
+            (creditAmount == null || creditAmount.compareTo(BigDecimal.ZERO) <= 0)) {
+            throw new IllegalArgumentException("Entry must have either debit or credit amount");
         }
-        
-        account.setBalance(newBalance);
-        accountDAO.save(account);
+    }
+    
+    /**
+     * Update transaksi; bila tanggal berubah, rollup harian ikut dipindahkan dalam database transaction yang sama
+     */
+    public Transaction updateTransaction(Long id, String description, LocalDate transactionDate, String reference) {
+        return transactionDAO.update(id, description, transactionDate, reference)
+            .orElseThrow(() -> new IllegalArgumentException("Transaction not found with ID: " + id));
+    }
+    
+    /**
+     * Menghapus transaksi beserta rollup harian dan balance account-nya
+     */
+    public boolean deleteTransaction(Long id) {
+        return transactionDAO.delete(id);
     }
     
     /**
@@ -202,6 +156,13 @@ public class TransactionService {
         return transactionDAO.findAll();
     }
     
+    /**
+     * Mendapatkan satu halaman transaksi untuk grid (lihat TransactionDAO.findPage)
+     */
+    public List<Transaction> getTransactionPage(LocalDate date, String searchText, Transaction after, int pageSize) {
+        return transactionDAO.findPage(date, searchText, after, pageSize);
+    }
+    
     /**
      * Mendapatkan transaksi berdasarkan periode
      */
@@ -210,7 +171,8 @@ public class TransactionService {
     }
     
     /**
-     * Mencari transaksi berdasarkan description
+     * Mencari transaksi berdasarkan description (hasil teratas menurut relevansi, lihat
+     * TransactionDAO.findByDescriptionContaining)
      */
     public List<Transaction> searchTransactionsByDescription(String description) {
         return transactionDAO.findByDescriptionContaining(description);
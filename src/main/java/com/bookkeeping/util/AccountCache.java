@@ -0,0 +1,186 @@
+package com.bookkeeping.util;
+
+import com.bookkeeping.entity.Account;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache LRU untuk Account berdasarkan ID dan account code, dipakai AccountDAO untuk lookup
+ * yang berulang (posting transaksi, import, dialog). Yang disimpan adalah salinan, dan setiap
+ * get mengembalikan salinan baru, sehingga perubahan caller pada entity tidak bocor ke cache
+ * sebelum benar-benar tersimpan. Setiap penulisan ke tabel accounts harus memanggil put atau
+ * evict (setelah commit). Caller mengambil stamp() sebelum membaca database; put dengan stamp
+ * yang lebih lama dari evict terakhir diabaikan, sehingga data yang dibaca sebelum commit lain
+ * tidak masuk lagi ke cache. Ukuran maksimal diatur lewat system property
+ * bookkeeping.accountCacheSize (default 1000).
+ */
+public final class AccountCache {
+
+    private static final int MAX_ENTRIES = Math.max(1, Integer.getInteger("bookkeeping.accountCacheSize", 1000));
+
+    private static final LinkedHashMap<Long, Account> accountsById = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Map<String, Long> idsByCode = new HashMap<>();
+    private static long hits = 0;
+    private static long misses = 0;
+    private static long evictions = 0;
+    private static long generation = 0;
+
+    private AccountCache() {}
+
+    /**
+     * Salinan account dengan ID tersebut, atau null bila tidak ada di cache
+     */
+    public static synchronized Account getById(Long id) {
+        Account account = accountsById.get(id);
+        return record(account);
+    }
+
+    /**
+     * Salinan account dengan account code tersebut, atau null bila tidak ada di cache
+     */
+    public static synchronized Account getByCode(String accountCode) {
+        Long id = idsByCode.get(accountCode);
+        return record(id != null ? accountsById.get(id) : null);
+    }
+
+    /**
+     * Stamp yang diambil sebelum membaca atau menulis account di database, untuk put
+     */
+    public static synchronized long stamp() {
+        return generation;
+    }
+
+    /**
+     * Menyimpan (salinan) account yang baru dibaca atau disimpan ke database. Diabaikan bila
+     * ada evict sejak stamp diambil.
+     */
+    public static synchronized void put(Account account, long stamp) {
+        if (account == null || account.getId() == null || stamp != generation) {
+            return;
+        }
+        Account previous = accountsById.put(account.getId(), copyOf(account));
+        if (previous != null && !previous.getAccountCode().equals(account.getAccountCode())) {
+            idsByCode.remove(previous.getAccountCode());
+        }
+        idsByCode.put(account.getAccountCode(), account.getId());
+
+        if (accountsById.size() > MAX_ENTRIES) {
+            Map.Entry<Long, Account> eldest = accountsById.entrySet().iterator().next();
+            remove(eldest.getKey());
+            evictions++;
+        }
+    }
+
+    /**
+     * Membuang account dari cache (setelah delete, atau balance diubah di luar AccountDAO)
+     */
+    public static synchronized void evict(Long id) {
+        generation++;
+        remove(id);
+    }
+
+    public static synchronized void evictAll(Collection<Long> ids) {
+        generation++;
+        for (Long id : ids) {
+            remove(id);
+        }
+    }
+
+    /**
+     * Mengosongkan cache dan statistik (dipakai saat database diinisialisasi ulang)
+     */
+    public static synchronized void reset() {
+        accountsById.clear();
+        idsByCode.clear();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        generation++;
+    }
+
+    public static synchronized Stats getStats() {
+        return new Stats(accountsById.size(), MAX_ENTRIES, hits, misses, evictions);
+    }
+
+    private static Account record(Account cached) {
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copyOf(cached);
+    }
+
+    private static void remove(Long id) {
+        Account removed = accountsById.remove(id);
+        if (removed != null) {
+            idsByCode.remove(removed.getAccountCode());
+        }
+    }
+
+    /**
+     * Salinan field kolom account; relasi transactionEntries (lazy) tidak ikut disalin
+     */
+    private static Account copyOf(Account account) {
+        Account copy = new Account(account.getAccountCode(), account.getAccountName(), account.getAccountType());
+        copy.setId(account.getId());
+        copy.setParentId(account.getParentId());
+        copy.setBalance(account.getBalance());
+        copy.setOpeningBalance(account.getOpeningBalance());
+        copy.setDescription(account.getDescription());
+        copy.setIsActive(account.getIsActive());
+        return copy;
+    }
+
+    /**
+     * Statistik cache
+     */
+    public static class Stats {
+        private final int size;
+        private final int maxSize;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        public Stats(int size, int maxSize, long hits, long misses, long evictions) {
+            this.size = size;
+            this.maxSize = maxSize;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d",
+                                 size, maxSize, hits, misses, getHitRate() * 100, evictions);
+        }
+    }
+}
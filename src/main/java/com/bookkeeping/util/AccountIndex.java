@@ -0,0 +1,208 @@
+package com.bookkeeping.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.bookkeeping.entity.Account;
+import com.bookkeeping.entity.AccountType;
+
+/**
+ * Index in-memory untuk filter account (pencarian code/nama dan filter type) tanpa query database.
+ * Code dan nama (lowercase) dipecah menjadi trigram; setiap trigram menyimpan daftar slot account
+ * yang terurut, sehingga pencarian cukup mengiris daftar trigram dari teks yang dicari lalu
+ * memverifikasi kandidat. Teks kurang dari 3 karakter dan filter tanpa teks memakai daftar
+ * slot yang sudah terurut per code, satu daftar untuk semua account dan satu per AccountType.
+ * Slot hanya bertambah: account yang diubah mendapat slot baru dan slot lamanya dikosongkan,
+ * lalu index dipadatkan ulang bila slot kosong sudah terlalu banyak. Thread-safe.
+ */
+public class AccountIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final Comparator<Account> BY_CODE = Comparator.comparing(Account::getAccountCode);
+
+    private final List<Account> slots = new ArrayList<>();
+    private final List<String> keys = new ArrayList<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Map<String, SlotList> postings = new HashMap<>();
+    private int[] sortedSlots;
+    private Map<AccountType, int[]> sortedSlotsByType;
+    private int liveCount;
+    private boolean loaded;
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Mengganti seluruh isi index (mis. setelah semua account dibaca ulang dari database)
+     */
+    public synchronized void replaceAll(Collection<Account> accounts) {
+        slots.clear();
+        keys.clear();
+        slotsById.clear();
+        postings.clear();
+        liveCount = 0;
+        for (Account account : accounts) {
+            addSlot(account);
+        }
+        sortedSlots = null;
+        loaded = true;
+    }
+
+    /**
+     * Menambah atau memperbarui account (setelah save)
+     */
+    public synchronized void put(Account account) {
+        if (!loaded) {
+            return;
+        }
+        removeSlot(account.getId());
+        addSlot(account);
+        sortedSlots = null;
+        compactIfNeeded();
+    }
+
+    /**
+     * Menghapus account dari index (setelah delete)
+     */
+    public synchronized void remove(Long accountId) {
+        if (!loaded) {
+            return;
+        }
+        if (removeSlot(accountId)) {
+            sortedSlots = null;
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Account yang code atau namanya mengandung searchText (case-insensitive) dan bertipe
+     * accountType, urut berdasarkan code. searchText kosong atau accountType null berarti semua.
+     */
+    public synchronized List<Account> search(String searchText, AccountType accountType) {
+        String query = searchText == null ? "" : searchText.trim().toLowerCase();
+
+        if (query.length() < GRAM_LENGTH) {
+            int[] bucket = sortedBucket(accountType);
+            List<Account> result = new ArrayList<>(bucket.length);
+            for (int slot : bucket) {
+                if (query.isEmpty() || keys.get(slot).contains(query)) {
+                    result.add(slots.get(slot));
+                }
+            }
+            return result;
+        }
+
+        // Iris daftar slot mulai dari trigram yang paling jarang
+        List<SlotList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            SlotList list = postings.get(query.substring(i, i + GRAM_LENGTH));
+            if (list == null) {
+                return new ArrayList<>();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        List<Account> result = new ArrayList<>();
+        SlotList smallest = lists.get(0);
+        int[] cursors = new int[lists.size()];
+        candidates:
+        for (int i = 0; i < smallest.size; i++) {
+            int slot = smallest.slots[i];
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).advanceTo(slot, cursors, j)) {
+                    continue candidates;
+                }
+            }
+            Account account = slots.get(slot);
+            if (account != null && (accountType == null || account.getAccountType() == accountType) &&
+                keys.get(slot).contains(query)) {
+                result.add(account);
+            }
+        }
+        result.sort(BY_CODE);
+        return result;
+    }
+
+    /**
+     * Slot account hidup terurut per code, untuk semua account atau satu type (dibangun ulang setelah perubahan)
+     */
+    private int[] sortedBucket(AccountType accountType) {
+        if (sortedSlots == null) {
+            sortedSlots = slotsById.values().stream()
+                .sorted(Comparator.comparing(slot -> slots.get(slot).getAccountCode()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+            sortedSlotsByType = new EnumMap<>(AccountType.class);
+            for (AccountType type : AccountType.values()) {
+                sortedSlotsByType.put(type, Arrays.stream(sortedSlots)
+                    .filter(slot -> slots.get(slot).getAccountType() == type)
+                    .toArray());
+            }
+        }
+        return accountType == null ? sortedSlots : sortedSlotsByType.get(accountType);
+    }
+
+    private void addSlot(Account account) {
+        int slot = slots.size();
+        String key = (account.getAccountCode() + '\u0001' + account.getAccountName()).toLowerCase();
+        slots.add(account);
+        keys.add(key);
+        slotsById.put(account.getId(), slot);
+        liveCount++;
+
+        for (int i = 0; i + GRAM_LENGTH <= key.length(); i++) {
+            postings.computeIfAbsent(key.substring(i, i + GRAM_LENGTH), gram -> new SlotList()).add(slot);
+        }
+    }
+
+    private boolean removeSlot(Long accountId) {
+        Integer slot = slotsById.remove(accountId);
+        if (slot == null) {
+            return false;
+        }
+        slots.set(slot, null);
+        liveCount--;
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        if (slots.size() > 64 && liveCount < slots.size() / 2) {
+            replaceAll(slots.stream().filter(account -> account != null).toList());
+        }
+    }
+
+    /**
+     * Daftar slot terurut naik (slot baru selalu lebih besar, jadi cukup append)
+     */
+    private static class SlotList {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        /**
+         * Memajukan cursor ke slot >= target; true bila target ada di daftar
+         */
+        boolean advanceTo(int target, int[] cursors, int index) {
+            int position = Arrays.binarySearch(slots, cursors[index], size, target);
+            cursors[index] = position >= 0 ? position : -position - 1;
+            return position >= 0;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.bookkeeping.util;
+
+import com.bookkeeping.dao.AccountDAO;
+import com.bookkeeping.dao.TransactionEntryDAO;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ledger in-memory untuk perubahan balance account (write-behind).
+ * Posting hanya menambahkan delta (satuan minor, lihat Money) ke AtomicLong milik account itu,
+ * tanpa read-modify-write entity dan tanpa alokasi, sehingga posting bersamaan ke account
+ * yang sama (Cash, Accounts Payable) tidak saling menimpa. Thread "balance-ledger" menulis
+ * semua delta yang tertunda dalam satu database transaction berupa increment per account,
+ * setiap bookkeeping.balanceFlushMillis (default 200 ms), dan sekali lagi saat database ditutup.
+ * Balance di database bisa tertinggal sampai satu flush; AccountDAO menambahkan delta yang
+ * tertunda ke account yang dibacanya. Delta yang hilang karena aplikasi berhenti paksa
+ * dipulihkan oleh ensureReconciled: balance dihitung ulang dari opening balance dan total entries.
+ */
+public final class BalanceLedger {
+
+    private static final long FLUSH_INTERVAL_MILLIS = Math.max(10, Long.getLong("bookkeeping.balanceFlushMillis", 200));
+
+    private static final Map<Long, AtomicLong> pending = new ConcurrentHashMap<>();
+    private static final Object flushLock = new Object();
+    private static final AccountDAO accountDAO = new AccountDAO();
+    private static volatile ScheduledExecutorService flusher;
+    private static boolean reconciled = false;
+
+    private BalanceLedger() {}
+
+    /**
+     * Menambahkan perubahan balance (sesuai saldo normal account) untuk ditulis pada flush berikutnya.
+     * Dipanggil setelah entries yang bersangkutan ter-commit.
+     */
+    public static void add(Long accountId, long deltaMinor) {
+        if (deltaMinor == 0) {
+            return;
+        }
+        pending.computeIfAbsent(accountId, id -> new AtomicLong()).accumulateAndGet(deltaMinor, Math::addExact);
+        if (flusher == null) {
+            startFlusher();
+        }
+    }
+
+    public static void add(Long accountId, BigDecimal delta) {
+        add(accountId, Money.toMinor(delta));
+    }
+
+    /**
+     * Delta yang belum ditulis ke database untuk account tersebut
+     */
+    public static BigDecimal pendingDelta(Long accountId) {
+        AtomicLong delta = pending.get(accountId);
+        return Money.toBigDecimal(delta != null ? delta.get() : 0);
+    }
+
+    /**
+     * Menulis semua delta yang tertunda ke database dalam satu database transaction.
+     * Bila gagal, delta dikembalikan ke ledger dan dicoba lagi pada flush berikutnya.
+     */
+    public static void flush() {
+        synchronized (flushLock) {
+            Map<Long, Long> deltas = new HashMap<>();
+            for (Map.Entry<Long, AtomicLong> entry : pending.entrySet()) {
+                long delta = entry.getValue().getAndSet(0);
+                if (delta != 0) {
+                    deltas.put(entry.getKey(), delta);
+                }
+            }
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            Map<Long, BigDecimal> amounts = new HashMap<>(deltas.size() * 2);
+            deltas.forEach((accountId, delta) -> amounts.put(accountId, Money.toBigDecimal(delta)));
+            try {
+                accountDAO.addToBalances(amounts);
+            } catch (RuntimeException e) {
+                deltas.forEach(BalanceLedger::add);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Rekonsiliasi sekali per JVM, sebelum posting pertama: balance setiap account dibandingkan
+     * dengan opening balance ditambah mutasi semua entries, dan diperbaiki bila berbeda
+     * (mis. delta yang belum sempat di-flush saat aplikasi berhenti paksa).
+     */
+    public static synchronized void ensureReconciled() {
+        if (reconciled) {
+            return;
+        }
+        flush();
+        int corrected = accountDAO.reconcileBalances(new TransactionEntryDAO().calculateTotalsForAllAccounts());
+        if (corrected > 0) {
+            System.out.println("⚠ Reconciled " + corrected + " account balances against entry totals");
+        }
+        reconciled = true;
+    }
+
+    /**
+     * Menghentikan thread flush lalu menulis delta yang tersisa (dipanggil sebelum database ditutup)
+     */
+    public static void shutdown() {
+        synchronized (BalanceLedger.class) {
+            if (flusher != null) {
+                flusher.shutdown();
+                flusher = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Mengosongkan ledger (dipakai saat database diinisialisasi ulang)
+     */
+    public static synchronized void reset() {
+        pending.clear();
+        reconciled = false;
+    }
+
+    private static synchronized void startFlusher() {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "balance-ledger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                System.err.println("❌ Error flushing account balances: " + e.getMessage());
+            }
+        }, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+}
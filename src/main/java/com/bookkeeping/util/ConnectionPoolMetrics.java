@@ -0,0 +1,146 @@
+package com.bookkeeping.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics untuk connection pool HikariCP (active, idle, waiting, wait time).
+ * Didaftarkan lewat property hibernate.hikari.metricsTrackerFactory di persistence.xml;
+ * snapshot dibaca melalui DatabaseUtil.getConnectionPoolStats().
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private static final Map<String, Tracker> TRACKERS = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Tracker tracker = new Tracker(poolName, poolStats);
+        TRACKERS.put(poolName, tracker);
+        return tracker;
+    }
+
+    /**
+     * Mendapatkan snapshot metrics untuk pool tertentu, atau null bila pool belum dibuat
+     */
+    public static Snapshot snapshot(String poolName) {
+        Tracker tracker = TRACKERS.get(poolName);
+        return tracker != null ? tracker.snapshot() : null;
+    }
+
+    /**
+     * Tracker per pool; dipanggil HikariCP pada setiap acquire/release connection
+     */
+    private static class Tracker implements IMetricsTracker {
+        private final String poolName;
+        private final PoolStats poolStats;
+        private final LongAdder acquireCount = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final LongAdder timeoutCount = new LongAdder();
+
+        Tracker(String poolName, PoolStats poolStats) {
+            this.poolName = poolName;
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquireCount.increment();
+            totalWaitNanos.add(elapsedAcquiredNanos);
+            maxWaitNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeoutCount.increment();
+        }
+
+        Snapshot snapshot() {
+            long acquired = acquireCount.sum();
+            double averageWaitMillis = acquired == 0 ? 0 :
+                (double) totalWaitNanos.sum() / acquired / TimeUnit.MILLISECONDS.toNanos(1);
+            double maxWaitMillis = (double) maxWaitNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+            return new Snapshot(poolName, poolStats.getActiveConnections(), poolStats.getIdleConnections(),
+                                poolStats.getTotalConnections(), poolStats.getPendingThreads(),
+                                acquired, averageWaitMillis, maxWaitMillis, timeoutCount.sum());
+        }
+    }
+
+    /**
+     * Snapshot metrics connection pool
+     */
+    public static class Snapshot {
+        private final String poolName;
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int totalConnections;
+        private final int pendingThreads;
+        private final long acquireCount;
+        private final double averageWaitMillis;
+        private final double maxWaitMillis;
+        private final long timeoutCount;
+
+        public Snapshot(String poolName, int activeConnections, int idleConnections, int totalConnections,
+                        int pendingThreads, long acquireCount, double averageWaitMillis, double maxWaitMillis,
+                        long timeoutCount) {
+            this.poolName = poolName;
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.totalConnections = totalConnections;
+            this.pendingThreads = pendingThreads;
+            this.acquireCount = acquireCount;
+            this.averageWaitMillis = averageWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+            this.timeoutCount = timeoutCount;
+        }
+
+        public String getPoolName() {
+            return poolName;
+        }
+
+        public int getActiveConnections() {
+            return activeConnections;
+        }
+
+        public int getIdleConnections() {
+            return idleConnections;
+        }
+
+        public int getTotalConnections() {
+            return totalConnections;
+        }
+
+        public int getPendingThreads() {
+            return pendingThreads;
+        }
+
+        public long getAcquireCount() {
+            return acquireCount;
+        }
+
+        public double getAverageWaitMillis() {
+            return averageWaitMillis;
+        }
+
+        public double getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        public long getTimeoutCount() {
+            return timeoutCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: active=%d, idle=%d, total=%d, waiting=%d, acquired=%d, avgWait=%.2fms, maxWait=%.2fms, timeouts=%d",
+                poolName, activeConnections, idleConnections, totalConnections, pendingThreads,
+                acquireCount, averageWaitMillis, maxWaitMillis, timeoutCount);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.bookkeeping.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader untuk file CSV transaksi.
+ * Format CSV: date,description,reference,account_code,debit_amount,credit_amount,entry_description
+ * Baris berurutan dengan reference yang sama digabung menjadi satu journal. File dibaca
+ * lewat MappedCsvTokenizer (memory-mapped, mendukung field berkutip), sehingga memory tidak
+ * bergantung pada ukuran file dan tanggal/amount di-parse tanpa String sementara.
+ */
+public class CsvTransactionReader implements Closeable {
+
+    private final MappedCsvTokenizer tokenizer;
+    private Journal pending;
+    private boolean headerSkipped = false;
+
+    public CsvTransactionReader(String filePath) throws IOException {
+        this(filePath, 0, 0);
+    }
+
+    /**
+     * Melanjutkan pembacaan dari awal sebuah journal (Journal.getEndOffset dari journal
+     * sebelumnya); header hanya dilewati bila mulai dari awal file
+     */
+    public CsvTransactionReader(String filePath, long startOffset, long linesBefore) throws IOException {
+        this.tokenizer = new MappedCsvTokenizer(filePath, startOffset, linesBefore);
+        this.headerSkipped = startOffset > 0;
+    }
+
+    /**
+     * Membaca journal berikutnya, atau null bila file sudah habis.
+     * Baris yang tidak bisa di-parse dilaporkan ke System.err dan dilewati.
+     */
+    public Journal next() throws IOException {
+        while (tokenizer.nextRow()) {
+            // Skip header
+            if (!headerSkipped) {
+                headerSkipped = true;
+                continue;
+            }
+
+            // Skip empty lines
+            if (tokenizer.isBlankRow() || tokenizer.getFieldCount() < 7) {
+                continue;
+            }
+
+            try {
+                String reference = tokenizer.getString(2);
+                Line entry = new Line(tokenizer.getString(3), nonZero(tokenizer.getDecimal(4)), 
+                                      nonZero(tokenizer.getDecimal(5)), tokenizer.getString(6));
+
+                if (pending != null && pending.reference.equals(reference)) {
+                    pending.lines.add(entry);
+                    continue;
+                }
+
+                Journal completed = pending;
+                pending = new Journal(tokenizer.getRowNumber(), tokenizer.getDate(0), 
+                                      tokenizer.getString(1), reference);
+                pending.lines.add(entry);
+                if (completed != null) {
+                    // Journal selesai tepat sebelum baris yang memulai journal berikutnya
+                    completed.end(tokenizer.getRowOffset(), tokenizer.getRowNumber() - 1);
+                    return completed;
+                }
+            } catch (Exception e) {
+                System.err.println("Error processing transaction line " + tokenizer.getRowNumber() + 
+                                 " (offset " + tokenizer.getRowOffset() + ")");
+                System.err.println("Error: " + e.getMessage());
+            }
+        }
+
+        Journal last = pending;
+        pending = null;
+        if (last != null) {
+            last.end(tokenizer.getNextRowOffset(), tokenizer.getRowNumber());
+        }
+        return last;
+    }
+
+    private BigDecimal nonZero(BigDecimal amount) {
+        return amount != null && amount.signum() != 0 ? amount : null;
+    }
+
+    /**
+     * Posisi byte setelah baris terakhir yang sudah dibaca
+     */
+    public long getOffset() {
+        return tokenizer.getNextRowOffset();
+    }
+
+    /**
+     * Nomor baris terakhir yang sudah dibaca dari file
+     */
+    public long getLineNumber() {
+        return tokenizer.getRowNumber();
+    }
+
+    @Override
+    public void close() throws IOException {
+        tokenizer.close();
+    }
+
+    /**
+     * Satu journal (kumpulan baris dengan reference yang sama)
+     */
+    public static class Journal {
+        private final long lineNumber;
+        private final LocalDate date;
+        private final String description;
+        private final String reference;
+        private final List<Line> lines = new ArrayList<>();
+        private long endOffset;
+        private long endLineNumber;
+
+        public Journal(long lineNumber, LocalDate date, String description, String reference) {
+            this.lineNumber = lineNumber;
+            this.date = date;
+            this.description = description;
+            this.reference = reference;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getReference() {
+            return reference;
+        }
+
+        public List<Line> getLines() {
+            return lines;
+        }
+
+        /**
+         * Posisi byte awal journal berikutnya (titik resume setelah journal ini)
+         */
+        public long getEndOffset() {
+            return endOffset;
+        }
+
+        /**
+         * Jumlah baris file sampai dan termasuk baris terakhir journal ini
+         */
+        public long getEndLineNumber() {
+            return endLineNumber;
+        }
+
+        private void end(long offset, long lineNumber) {
+            this.endOffset = offset;
+            this.endLineNumber = lineNumber;
+        }
+    }
+
+    /**
+     * Satu baris entry dalam journal
+     */
+    public static class Line {
+        private final String accountCode;
+        private final BigDecimal debitAmount;
+        private final BigDecimal creditAmount;
+        private final String description;
+
+        public Line(String accountCode, BigDecimal debitAmount, BigDecimal creditAmount, String description) {
+            this.accountCode = accountCode;
+            this.debitAmount = debitAmount;
+            this.creditAmount = creditAmount;
+            this.description = description;
+        }
+
+        public String getAccountCode() {
+            return accountCode;
+        }
+
+        public BigDecimal getDebitAmount() {
+            return debitAmount;
+        }
+
+        public BigDecimal getCreditAmount() {
+            return creditAmount;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -1,13 +1,10 @@
 package com.bookkeeping.util;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.bookkeeping.entity.Account;
@@ -22,7 +19,7 @@ public class DataImporter {
     
     private final AccountService accountService;
     private final TransactionService transactionService;
-    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int BULK_BATCH_SIZE = 500;
     
     public DataImporter() {
         this.accountService = new AccountService();
@@ -36,12 +33,11 @@ public class DataImporter {
     public void importAccountsFromCSV(String filePath) {
         System.out.println("Starting accounts import from: " + filePath);
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
+        try (MappedCsvTokenizer tokenizer = new MappedCsvTokenizer(filePath)) {
             boolean isFirstLine = true;
             int importedCount = 0;
             
-            while ((line = reader.readLine()) != null) {
+            while (tokenizer.nextRow()) {
                 // Skip header
                 if (isFirstLine) {
                     isFirstLine = false;
@@ -49,19 +45,18 @@ public class DataImporter {
                 }
                 
                 // Skip empty lines
-                if (line.trim().isEmpty()) {
+                if (tokenizer.isBlankRow()) {
                     continue;
                 }
                 
                 try {
-                    String[] parts = line.split(",");
-                    if (parts.length >= 6) {
-                        String accountCode = parts[0].trim();
-                        String accountName = parts[1].trim();
-                        AccountType accountType = AccountType.valueOf(parts[2].trim().toUpperCase());
-                        BigDecimal balance = new BigDecimal(parts[3].trim());
-                        boolean active = Boolean.parseBoolean(parts[4].trim());
-                        String description = parts[5].trim();
+                    if (tokenizer.getFieldCount() >= 6) {
+                        String accountCode = tokenizer.getString(0);
+                        String accountName = tokenizer.getString(1);
+                        AccountType accountType = AccountType.valueOf(tokenizer.getString(2).toUpperCase());
+                        BigDecimal balance = tokenizer.getDecimal(3);
+                        boolean active = Boolean.parseBoolean(tokenizer.getString(4));
+                        String description = tokenizer.getString(5);
                         
                         // Check if account already exists
                         Optional<Account> existingAccount = accountService.findAccountByCode(accountCode);
@@ -70,7 +65,7 @@ public class DataImporter {
                             Account account = accountService.createAccount(accountCode, accountName, accountType, description);
                             
                             // Set balance and active status if needed
-                            if (balance.compareTo(BigDecimal.ZERO) != 0) {
+                            if (balance != null && balance.compareTo(BigDecimal.ZERO) != 0) {
                                 accountService.updateAccountBalance(account.getId(), balance);
                             }
                             if (!active) {
@@ -84,7 +79,7 @@ public class DataImporter {
                         }
                     }
                 } catch (Exception e) {
-                    System.err.println("Error processing line: " + line);
+                    System.err.println("Error processing line " + tokenizer.getRowNumber());
                     System.err.println("Error: " + e.getMessage());
                 }
             }
@@ -99,113 +94,51 @@ public class DataImporter {
     /**
      * Import transactions dari file CSV
      * Format CSV: date,description,reference,account_code,debit_amount,credit_amount,entry_description
+     * Import dicatat di import log: bila terhenti di tengah file, import ulang file yang sama
+     * melanjutkan dari journal terakhir yang ter-commit tanpa menduplikasi transaksi.
      */
     public void importTransactionsFromCSV(String filePath) {
-        System.out.println("Starting transactions import from: " + filePath);
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            boolean isFirstLine = true;
-            int importedCount = 0;
-            String currentTransactionRef = null;
-            List<TransactionService.TransactionEntryData> currentEntries = new ArrayList<>();
-            LocalDate currentDate = null;
-            String currentDescription = null;
-            String currentReference = null;
-            
-            while ((line = reader.readLine()) != null) {
-                // Skip header
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue;
-                }
-                
-                // Skip empty lines
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-                
-                try {
-                    String[] parts = line.split(",");
-                    if (parts.length >= 7) {
-                        String date = parts[0].trim();
-                        String description = parts[1].trim();
-                        String reference = parts[2].trim();
-                        String accountCode = parts[3].trim();
-                        String debitAmountStr = parts[4].trim();
-                        String creditAmountStr = parts[5].trim();
-                        String entryDescription = parts[6].trim();
-                        
-                        // Parse amounts
-                        BigDecimal debitAmount = null;
-                        BigDecimal creditAmount = null;
-                        
-                        if (!debitAmountStr.isEmpty() && !debitAmountStr.equals("0")) {
-                            debitAmount = new BigDecimal(debitAmountStr);
-                        }
-                        if (!creditAmountStr.isEmpty() && !creditAmountStr.equals("0")) {
-                            creditAmount = new BigDecimal(creditAmountStr);
-                        }
-                        
-                        // Check if this is a new transaction
-                        if (currentTransactionRef == null || !currentTransactionRef.equals(reference)) {
-                            // Save previous transaction if exists
-                            if (currentTransactionRef != null && !currentEntries.isEmpty()) {
-                                saveTransaction(currentDate, currentDescription, currentReference, currentEntries);
-                                importedCount++;
-                            }
-                            
-                            // Start new transaction
-                            currentTransactionRef = reference;
-                            currentDate = LocalDate.parse(date, dateFormatter);
-                            currentDescription = description;
-                            currentReference = reference;
-                            currentEntries = new ArrayList<>();
-                        }
-                        
-                        // Find account
-                        Optional<Account> accountOpt = accountService.findAccountByCode(accountCode);
-                        if (accountOpt.isPresent()) {
-                            Account account = accountOpt.get();
-                            TransactionService.TransactionEntryData entryData = 
-                                new TransactionService.TransactionEntryData(
-                                    account.getId(), debitAmount, creditAmount, entryDescription);
-                            currentEntries.add(entryData);
-                        } else {
-                            System.err.println("⚠ Account not found: " + accountCode);
-                        }
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error processing transaction line: " + line);
-                    System.err.println("Error: " + e.getMessage());
-                }
-            }
-            
-            // Save the last transaction
-            if (currentTransactionRef != null && !currentEntries.isEmpty()) {
-                saveTransaction(currentDate, currentDescription, currentReference, currentEntries);
-                importedCount++;
-            }
-            
-            System.out.println("✅ Transactions import completed! Imported: " + importedCount + " transactions");
-            
-        } catch (IOException e) {
-            System.err.println("❌ Error reading transactions file: " + e.getMessage());
-        }
+        importTransactionsBulk(filePath);
     }
     
     /**
-     * Save transaction dengan entries
+     * Bulk import transactions dari file CSV dengan batch default
+     * Format CSV dan checkpoint sama dengan importTransactionsFromCSV
      */
-    private void saveTransaction(LocalDate date, String description, String reference, 
-                                List<TransactionService.TransactionEntryData> entries) {
-        try {
-            transactionService.createCompleteTransaction(description, date, reference, entries);
-            System.out.println("✓ Imported transaction: " + reference + " - " + description);
-        } catch (Exception e) {
-            System.err.println("❌ Error saving transaction: " + reference);
-            System.err.println("Error: " + e.getMessage());
+    public void importTransactionsBulk(String filePath) {
+        importTransactionsBulk(filePath, BULK_BATCH_SIZE);
+    }
+    
+    /**
+     * Bulk import transactions dari file CSV.
+     * Account code di-resolve dari map yang dimuat sekali, file dibaca secara streaming,
+     * dan setiap batchSize journal ditulis dengan JDBC batch dalam satu commit.
+     * Journal yang tidak valid (account tidak dikenal, tidak balance) dilewati.
+     */
+    public void importTransactionsBulk(String filePath, int batchSize) {
+        System.out.println("Starting bulk transactions import from: " + filePath);
+        ParallelImportEngine engine = new ParallelImportEngine(transactionService, 1, batchSize, 0, 5);
+        ParallelImportEngine.ImportStats stats = engine.importFiles(List.of(filePath), loadAccountIdsByCode());
+        System.out.println("✅ Bulk transactions import completed! " + stats);
+    }
+    
+    /**
+     * Import transactions dari banyak file CSV sekaligus (mis. satu file per rekening bank
+     * atau per bulan). File di-parse paralel oleh worker pool, satu writer melakukan commit.
+     */
+    public void importTransactionsParallel(List<String> filePaths) {
+        System.out.println("Starting parallel transactions import from " + filePaths.size() + " files");
+        ParallelImportEngine engine = new ParallelImportEngine(transactionService);
+        ParallelImportEngine.ImportStats stats = engine.importFiles(filePaths, loadAccountIdsByCode());
+        System.out.println("✅ Parallel transactions import completed! " + stats);
+    }
+    
+    private Map<String, Long> loadAccountIdsByCode() {
+        Map<String, Long> accountIdsByCode = new HashMap<>();
+        for (Account account : accountService.getAllAccounts()) {
+            accountIdsByCode.put(account.getAccountCode(), account.getId());
         }
+        return accountIdsByCode;
     }
     
     /**
@@ -268,6 +201,14 @@ public class DataImporter {
                     case "transactions":
                         importer.importTransactionsFromCSV("transactions.csv");
                         break;
+                    case "bulk":
+                        importer.importTransactionsBulk("transactions.csv");
+                        break;
+                    case "parallel":
+                        importer.importTransactionsParallel(args.length > 1 
+                            ? List.of(args).subList(1, args.length) 
+                            : List.of("transactions.csv"));
+                        break;
                     case "test":
                         importer.testDatabaseContent();
                         break;
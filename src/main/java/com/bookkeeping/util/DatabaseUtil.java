@@ -2,27 +2,120 @@ package com.bookkeeping.util;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Persistence;
 
 /**
- * Utility class untuk mengelola EntityManager dan database connection
+ * Utility class untuk mengelola EntityManager dan database connection.
+ * Database dibuka dalam WAL mode dengan dua pool: satu connection writer dan
+ * beberapa connection read-only, sehingga laporan tidak menunggu posting dan sebaliknya.
  */
 public class DatabaseUtil {
-    
+
     private static EntityManagerFactory entityManagerFactory;
+    private static EntityManagerFactory readOnlyEntityManagerFactory;
     private static final String PERSISTENCE_UNIT_NAME = "BookkeepingPU";
-    
+    private static final String READ_PERSISTENCE_UNIT_NAME = "BookkeepingReadPU";
+    private static final String POOL_NAME = "bookkeeping-writer";
+    private static final String READ_POOL_NAME = "bookkeeping-reader";
+    // Statistik cache dan pool saat shutdown hanya dicetak dengan -Dbookkeeping.logShutdownStats=true
+    private static final boolean LOG_SHUTDOWN_STATS = Boolean.getBoolean("bookkeeping.logShutdownStats");
+
+    // DDL yang tidak bisa dibuat hbm2ddl di SQLite (unique constraint lewat ALTER TABLE,
+    // virtual table FTS5 dan trigger). Semua statement harus aman dijalankan ulang setiap start.
+    private static final String[] SCHEMA_STATEMENTS = {
+        "CREATE UNIQUE INDEX IF NOT EXISTS uk_daily_balance_account_date " +
+        "ON account_daily_balances (account_id, balance_date)",
+        "CREATE UNIQUE INDEX IF NOT EXISTS uk_import_logs_content_hash ON import_logs (content_hash)",
+        "CREATE UNIQUE INDEX IF NOT EXISTS uk_transactions_import_fingerprint " +
+        "ON transactions (import_fingerprint) WHERE import_fingerprint IS NOT NULL",
+
+        // Index full-text (FTS5) untuk pencarian transaksi; rowid = transactions.id,
+        // kolom entries berisi gabungan description semua entry transaksi tersebut
+        "CREATE VIRTUAL TABLE IF NOT EXISTS transaction_search USING fts5(" +
+        "transaction_number, description, reference, entries, " +
+        "tokenize = 'unicode61 remove_diacritics 2')",
+        // Bobot bm25 per kolom: description paling penting, entries paling rendah
+        "INSERT INTO transaction_search (transaction_search, rank) VALUES ('rank', 'bm25(2.0, 10.0, 5.0, 1.0)')",
+        "CREATE TRIGGER IF NOT EXISTS trg_transactions_search_insert AFTER INSERT ON transactions BEGIN " +
+        "INSERT INTO transaction_search (rowid, transaction_number, description, reference, entries) " +
+        "VALUES (new.id, new.transaction_number, new.description, new.reference, " +
+        "(SELECT group_concat(e.description, ' ') FROM transaction_entries e WHERE e.transaction_id = new.id)); END",
+        "CREATE TRIGGER IF NOT EXISTS trg_transactions_search_update " +
+        "AFTER UPDATE OF transaction_number, description, reference ON transactions BEGIN " +
+        "UPDATE transaction_search SET transaction_number = new.transaction_number, " +
+        "description = new.description, reference = new.reference WHERE rowid = new.id; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_transactions_search_delete AFTER DELETE ON transactions BEGIN " +
+        "DELETE FROM transaction_search WHERE rowid = old.id; END",
+        // Bulk import menulis entries sebelum header-nya (lihat TransactionBatchDAO), sehingga trigger
+        // insert transactions di atas langsung mengindeks seluruh journal dan trigger ini dilewati
+        "CREATE TRIGGER IF NOT EXISTS trg_entries_search_insert AFTER INSERT ON transaction_entries " +
+        "WHEN new.description IS NOT NULL AND EXISTS (SELECT 1 FROM transactions WHERE id = new.transaction_id) " +
+        "BEGIN " + entrySearchUpdate("new") + " END",
+        "CREATE TRIGGER IF NOT EXISTS trg_entries_search_update " +
+        "AFTER UPDATE OF description, transaction_id ON transaction_entries BEGIN " +
+        entrySearchUpdate("old") + " " + entrySearchUpdate("new") + " END",
+        "CREATE TRIGGER IF NOT EXISTS trg_entries_search_delete AFTER DELETE ON transaction_entries " +
+        "WHEN old.description IS NOT NULL BEGIN " + entrySearchUpdate("old") + " END",
+        // Mengisi index untuk transaksi yang sudah ada sebelum index dibuat; setelah itu trigger
+        // yang menjaga index, jadi start berikutnya hanya membaca rowid terbesar
+        "INSERT INTO transaction_search (rowid, transaction_number, description, reference, entries) " +
+        "SELECT t.id, t.transaction_number, t.description, t.reference, " +
+        "(SELECT group_concat(e.description, ' ') FROM transaction_entries e WHERE e.transaction_id = t.id) " +
+        "FROM transactions t WHERE t.id > (SELECT coalesce(max(rowid), 0) FROM transaction_search)"
+    };
+
     static {
         try {
-            entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME);
+            createEntityManagerFactories();
         } catch (Exception e) {
             System.err.println("Failed to create EntityManagerFactory: " + e.getMessage());
             e.printStackTrace();
         }
     }
-    
+
+    /**
+     * Writer dibuat lebih dulu: ia yang membuat file database dan schema,
+     * sedangkan reader dibuka dengan open_mode read-only dan butuh file yang sudah ada
+     */
+    private static void createEntityManagerFactories() {
+        entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME);
+        createSchemaExtensions();
+        readOnlyEntityManagerFactory = Persistence.createEntityManagerFactory(READ_PERSISTENCE_UNIT_NAME);
+    }
+
+    private static void createSchemaExtensions() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+
+        try {
+            transaction.begin();
+            for (String statement : SCHEMA_STATEMENTS) {
+                em.createNativeQuery(statement).executeUpdate();
+            }
+            transaction.commit();
+        } catch (Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Error creating schema extensions: " + e.getMessage(), e);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Statement trigger yang menyusun ulang kolom entries index full-text untuk transaksi
+     * milik baris entry row ("new" atau "old")
+     */
+    private static String entrySearchUpdate(String row) {
+        return "UPDATE transaction_search SET entries = (SELECT group_concat(e.description, ' ') " +
+               "FROM transaction_entries e WHERE e.transaction_id = " + row + ".transaction_id) " +
+               "WHERE rowid = " + row + ".transaction_id;";
+    }
+
     /**
-     * Mendapatkan EntityManager instance
+     * Mendapatkan EntityManager instance (connection writer)
      */
     public static EntityManager getEntityManager() {
         if (entityManagerFactory == null) {
@@ -30,28 +123,83 @@ public class DatabaseUtil {
         }
         return entityManagerFactory.createEntityManager();
     }
-    
+
+    /**
+     * Mendapatkan EntityManager read-only untuk query laporan dan tabel UI.
+     * Tidak boleh dipakai untuk persist/merge/remove.
+     */
+    public static EntityManager getReadOnlyEntityManager() {
+        if (readOnlyEntityManagerFactory == null) {
+            throw new IllegalStateException("Read-only EntityManagerFactory is not initialized");
+        }
+        return readOnlyEntityManagerFactory.createEntityManager();
+    }
+
     /**
      * Menutup EntityManagerFactory
      */
     public static void closeEntityManagerFactory() {
+        // Delta balance yang belum di-flush harus ditulis selagi connection writer masih terbuka
+        try {
+            BalanceLedger.shutdown();
+        } catch (Exception e) {
+            System.err.println("❌ Error flushing account balances: " + e.getMessage());
+        }
+        if (LOG_SHUTDOWN_STATS) {
+            logShutdownStats();
+        }
+        if (readOnlyEntityManagerFactory != null && readOnlyEntityManagerFactory.isOpen()) {
+            readOnlyEntityManagerFactory.close();
+        }
         if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
             entityManagerFactory.close();
         }
     }
-    
+
+    /**
+     * Statistik account cache dan connection pool, dicetak sebelum pool ditutup
+     */
+    private static void logShutdownStats() {
+        System.out.println("Account cache: " + AccountCache.getStats());
+        for (ConnectionPoolMetrics.Snapshot stats : new ConnectionPoolMetrics.Snapshot[] {
+                getReadConnectionPoolStats(), getConnectionPoolStats() }) {
+            if (stats != null) {
+                System.out.println("Connection pool " + stats);
+            }
+        }
+    }
+
     /**
      * Mengecek apakah EntityManagerFactory sudah diinisialisasi
      */
     public static boolean isInitialized() {
-        return entityManagerFactory != null && entityManagerFactory.isOpen();
+        return entityManagerFactory != null && entityManagerFactory.isOpen()
+            && readOnlyEntityManagerFactory != null && readOnlyEntityManagerFactory.isOpen();
+    }
+
+    /**
+     * Mendapatkan snapshot metrics connection pool writer (active, idle, waiting, wait time),
+     * atau null bila pool belum dibuat
+     */
+    public static ConnectionPoolMetrics.Snapshot getConnectionPoolStats() {
+        return ConnectionPoolMetrics.snapshot(POOL_NAME);
     }
-    
+
+    /**
+     * Mendapatkan snapshot metrics connection pool read-only, atau null bila pool belum dibuat
+     */
+    public static ConnectionPoolMetrics.Snapshot getReadConnectionPoolStats() {
+        return ConnectionPoolMetrics.snapshot(READ_POOL_NAME);
+    }
+
     /**
      * Inisialisasi ulang database
      */
     public static void reinitialize() {
         closeEntityManagerFactory();
-        entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME);
+        TransactionNumberAllocator.reset();
+        AccountCache.reset();
+        BalanceLedger.reset();
+        createEntityManagerFactories();
     }
 }
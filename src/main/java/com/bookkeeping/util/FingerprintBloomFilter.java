@@ -0,0 +1,54 @@
+package com.bookkeeping.util;
+
+/**
+ * Bloom filter untuk fingerprint 64-bit (lihat JournalFingerprint).
+ * mightContain false berarti fingerprint pasti belum pernah dimasukkan; true berarti
+ * mungkin sudah ada dan harus dicek ke database. Fingerprint sudah berupa hash yang
+ * terdistribusi rata, sehingga posisi bit diturunkan dari dua setengahnya (double hashing).
+ * Tidak thread-safe: dipakai oleh satu thread writer import.
+ */
+public class FingerprintBloomFilter {
+
+    private static final long MAX_BITS = 64L * Integer.MAX_VALUE;
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public FingerprintBloomFilter(long expectedEntries, double falsePositiveRate) {
+        long entries = Math.max(1, expectedEntries);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = Math.min(MAX_BITS, Math.max(64, bits));
+        this.words = new long[(int) ((bitCount + 63) / 64)];
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * ln2));
+    }
+
+    public void put(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = (fingerprint >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = (fingerprint >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ukuran bit array dalam byte
+     */
+    public long getSizeInBytes() {
+        return words.length * 8L;
+    }
+}
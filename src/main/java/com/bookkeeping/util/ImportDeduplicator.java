@@ -0,0 +1,63 @@
+package com.bookkeeping.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.bookkeeping.dao.TransactionDAO;
+import com.bookkeeping.entity.Transaction;
+
+/**
+ * Deteksi journal duplikat saat import (mis. rekening koran yang sama di-import dua kali).
+ * Semua fingerprint yang tersimpan dimuat ke Bloom filter di awal import; hanya fingerprint
+ * yang "mungkin ada" di filter yang dicek ke database, satu query per batch. Unique index
+ * pada transactions.import_fingerprint tetap menjadi penjaga terakhir.
+ * Dipakai oleh satu thread writer import.
+ */
+public class ImportDeduplicator {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+    private final FingerprintBloomFilter filter;
+
+    /**
+     * @param expectedNewEntries perkiraan jumlah journal baru yang akan di-import
+     */
+    public ImportDeduplicator(long expectedNewEntries) {
+        long existing = transactionDAO.countImportFingerprints();
+        this.filter = new FingerprintBloomFilter(existing + expectedNewEntries, FALSE_POSITIVE_RATE);
+        transactionDAO.streamImportFingerprints(filter::put);
+        System.out.println("✓ Loaded " + existing + " import fingerprints (" +
+                         filter.getSizeInBytes() / 1024 + " KB Bloom filter)");
+    }
+
+    /**
+     * Mengembalikan transaksi dari batch yang belum pernah di-import, dengan urutan yang sama.
+     * Fingerprint yang lolos langsung dimasukkan ke filter, sehingga duplikat di batch
+     * berikutnya (atau di file lain pada import yang sama) juga terdeteksi.
+     */
+    public List<Transaction> removeDuplicates(List<Transaction> transactions) {
+        List<Long> candidates = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            Long fingerprint = transaction.getImportFingerprint();
+            if (fingerprint != null && filter.mightContain(fingerprint)) {
+                candidates.add(fingerprint);
+            }
+        }
+
+        Set<Long> seen = candidates.isEmpty() ? new HashSet<>() : transactionDAO.findExistingImportFingerprints(candidates);
+        List<Transaction> unique = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            Long fingerprint = transaction.getImportFingerprint();
+            if (fingerprint == null) {
+                unique.add(transaction);
+            } else if (seen.add(fingerprint)) {
+                filter.put(fingerprint);
+                unique.add(transaction);
+            }
+        }
+        return unique;
+    }
+}
@@ -0,0 +1,51 @@
+package com.bookkeeping.util;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fingerprint 64-bit untuk journal hasil import: 8 byte pertama SHA-256 dari tanggal,
+ * reference, dan (account code, debit, credit) setiap baris. Urutan baris dan penulisan
+ * amount (100 vs 100.00) tidak mempengaruhi hasil; deskripsi tidak ikut dihitung.
+ */
+public final class JournalFingerprint {
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Error creating fingerprint digest: " + e.getMessage(), e);
+        }
+    });
+
+    private JournalFingerprint() {
+    }
+
+    public static long of(CsvTransactionReader.Journal journal) {
+        List<String> lines = new ArrayList<>(journal.getLines().size());
+        for (CsvTransactionReader.Line line : journal.getLines()) {
+            lines.add(line.getAccountCode() + '|' + amount(line.getDebitAmount()) + '|' + amount(line.getCreditAmount()));
+        }
+        Collections.sort(lines);
+
+        StringBuilder content = new StringBuilder(64 + lines.size() * 32);
+        content.append(journal.getDate()).append('\n').append(journal.getReference());
+        for (String line : lines) {
+            content.append('\n').append(line);
+        }
+
+        MessageDigest digest = DIGEST.get();
+        byte[] hash = digest.digest(content.toString().getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(hash).getLong();
+    }
+
+    private static String amount(BigDecimal amount) {
+        return amount == null || amount.signum() == 0 ? "0" : amount.stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,321 @@
+package com.bookkeeping.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Tokenizer CSV berbasis memory-mapped file (FileChannel.map).
+ * Baris dibaca langsung dari buffer; posisi field disimpan di array yang dipakai ulang,
+ * sehingga tanggal dan amount di-parse tanpa membuat String. String hanya dibuat bila
+ * field teks memang diminta. Mendukung field dengan tanda kutip (koma, newline dan "" di
+ * dalam kutip) serta file yang lebih besar dari satu window mapping.
+ */
+public class MappedCsvTokenizer implements Closeable {
+
+    private static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+    private static final int MAX_FIELDS = 64;
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+    private MappedByteBuffer buffer;
+    private long bufferStart;
+    private int position;
+
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private final boolean[] fieldQuoted = new boolean[MAX_FIELDS];
+    private int fieldCount;
+    private long rowOffset;
+    private long rowNumber;
+
+    public MappedCsvTokenizer(String filePath) throws IOException {
+        this(filePath, 0, 0, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Membaca mulai dari tengah file (mis. melanjutkan import dari checkpoint)
+     *
+     * @param startOffset posisi byte awal pembacaan (harus awal sebuah baris)
+     * @param rowsBefore jumlah baris sebelum startOffset, agar nomor baris tetap sesuai file
+     */
+    public MappedCsvTokenizer(String filePath, long startOffset, long rowsBefore) throws IOException {
+        this(filePath, startOffset, rowsBefore, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedCsvTokenizer(String filePath, long startOffset, long rowsBefore, long windowSize) throws IOException {
+        this.channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        this.rowNumber = rowsBefore;
+        map(Math.min(startOffset, fileSize));
+    }
+
+    private void map(long start) throws IOException {
+        bufferStart = start;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, fileSize - start));
+        position = 0;
+    }
+
+    /**
+     * Maju ke baris berikutnya; false bila file sudah habis
+     */
+    public boolean nextRow() throws IOException {
+        while (bufferStart + position < fileSize) {
+            int next = scanRow(position);
+            if (next >= 0) {
+                rowOffset = bufferStart + position;
+                position = next;
+                rowNumber++;
+                return true;
+            }
+            // Baris terpotong di ujung window: map ulang mulai dari awal baris
+            if (position == 0) {
+                throw new IOException("CSV row at offset " + bufferStart + " exceeds mapping window");
+            }
+            map(bufferStart + position);
+        }
+        return false;
+    }
+
+    /**
+     * Memindai satu baris mulai dari start dan mencatat batas field.
+     * Mengembalikan posisi awal baris berikutnya, atau -1 bila baris belum lengkap di window ini.
+     */
+    private int scanRow(int start) {
+        int limit = buffer.limit();
+        boolean atEndOfFile = bufferStart + limit >= fileSize;
+        int i = start;
+        fieldCount = 0;
+
+        while (true) {
+            int contentStart;
+            int contentEnd;
+            // Spasi sebelum kutip pembuka diabaikan:  "a, b"  tetap dianggap field berkutip
+            int quote = i;
+            while (quote < limit && (buffer.get(quote) == ' ' || buffer.get(quote) == '\t')) {
+                quote++;
+            }
+            boolean quoted = quote < limit && buffer.get(quote) == '"';
+
+            if (quoted) {
+                i = quote;
+                contentStart = ++i;
+                while (true) {
+                    if (i >= limit) {
+                        if (!atEndOfFile) {
+                            return -1;
+                        }
+                        break;
+                    }
+                    if (buffer.get(i) == '"') {
+                        if (i + 1 >= limit && !atEndOfFile) {
+                            return -1;
+                        }
+                        if (i + 1 < limit && buffer.get(i + 1) == '"') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                contentEnd = Math.min(i, limit);
+                // Lewati kutip penutup dan apa pun sampai delimiter
+                while (i < limit && buffer.get(i) != ',' && buffer.get(i) != '\n') {
+                    i++;
+                }
+            } else {
+                contentStart = i;
+                while (i < limit && buffer.get(i) != ',' && buffer.get(i) != '\n') {
+                    i++;
+                }
+                contentEnd = i;
+            }
+
+            if (fieldCount < MAX_FIELDS) {
+                fieldStart[fieldCount] = contentStart;
+                fieldEnd[fieldCount] = contentEnd;
+                fieldQuoted[fieldCount] = quoted;
+            }
+            fieldCount++;
+
+            if (i >= limit) {
+                return atEndOfFile ? limit : -1;
+            }
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Jumlah field pada baris saat ini
+     */
+    public int getFieldCount() {
+        return Math.min(fieldCount, MAX_FIELDS);
+    }
+
+    /**
+     * Posisi byte awal baris saat ini di dalam file
+     */
+    public long getRowOffset() {
+        return rowOffset;
+    }
+
+    /**
+     * Posisi byte awal baris berikutnya di dalam file
+     */
+    public long getNextRowOffset() {
+        return bufferStart + position;
+    }
+
+    /**
+     * Nomor urut baris yang sudah dibaca (dimulai dari 1)
+     */
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Apakah field kosong (setelah trim)
+     */
+    public boolean isEmpty(int index) {
+        return trimmedStart(index) >= trimmedEnd(index);
+    }
+
+    /**
+     * Apakah seluruh baris kosong (satu field kosong)
+     */
+    public boolean isBlankRow() {
+        return fieldCount == 1 && isEmpty(0);
+    }
+
+    /**
+     * Nilai field sebagai String yang sudah di-trim; "" di dalam field berkutip menjadi "
+     */
+    public String getString(int index) {
+        int start = trimmedStart(index);
+        int end = trimmedEnd(index);
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        return fieldQuoted[index] ? value.replace("\"\"", "\"") : value;
+    }
+
+    /**
+     * Nilai field sebagai tanggal yyyy-MM-dd, di-parse langsung dari byte
+     */
+    public LocalDate getDate(int index) {
+        int start = trimmedStart(index);
+        int end = trimmedEnd(index);
+        if (end - start == 10 && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-') {
+            int year = digits(start, 4);
+            int month = digits(start + 5, 2);
+            int day = digits(start + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(getString(index));
+    }
+
+    /**
+     * Nilai field sebagai amount (unscaled long + scale), atau null bila field kosong.
+     * Format di luar [-]digits[.digits] di-parse lewat BigDecimal(String).
+     */
+    public BigDecimal getDecimal(int index) {
+        int start = trimmedStart(index);
+        int end = trimmedEnd(index);
+        if (start >= end) {
+            return null;
+        }
+
+        int i = start;
+        boolean negative = false;
+        byte first = buffer.get(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        long unscaled = 0;
+        int scale = -1;
+        int digitCount = 0;
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                if (++digitCount > MAX_LONG_DIGITS) {
+                    return new BigDecimal(getString(index));
+                }
+                unscaled = unscaled * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return new BigDecimal(getString(index));
+            }
+        }
+        if (digitCount == 0) {
+            return new BigDecimal(getString(index));
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    private int digits(int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private int trimmedStart(int index) {
+        int start = fieldStart[index];
+        int end = fieldEnd[index];
+        if (fieldQuoted[index]) {
+            return start;
+        }
+        while (start < end && isWhitespace(buffer.get(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimmedEnd(int index) {
+        int start = fieldStart[index];
+        int end = fieldEnd[index];
+        if (fieldQuoted[index]) {
+            return end;
+        }
+        while (end > start && isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        channel.close();
+    }
+}
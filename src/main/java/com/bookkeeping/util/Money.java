@@ -0,0 +1,81 @@
+package com.bookkeeping.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Helper untuk amount uang fixed-point: long dalam satuan minor (sen, scale 2).
+ * Penjumlahan di jalur agregasi (laporan, validasi balance, delta balance) memakai long
+ * tanpa alokasi; BigDecimal hanya dibuat di batas model (entity getter, model laporan,
+ * parameter database). Overflow menghasilkan ArithmeticException, bukan nilai yang berputar.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private static final long MINOR_PER_UNIT = 100;
+
+    private Money() {}
+
+    /**
+     * Amount dalam satuan minor; pecahan di bawah sen dibulatkan HALF_UP (sama dengan kolom scale 2)
+     */
+    public static long toMinor(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        try {
+            return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Amount out of range: " + amount);
+        }
+    }
+
+    /**
+     * Nilai hasil agregat SQL (SUM) ke satuan minor. SQLite bisa mengembalikan integer, real
+     * atau decimal tergantung isi kolom; real dibulatkan ke sen terdekat.
+     */
+    public static long fromDatabase(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof BigDecimal) {
+            return toMinor((BigDecimal) value);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return fromDouble(((Number) value).doubleValue());
+        }
+        if (value instanceof Number) {
+            return Math.multiplyExact(((Number) value).longValue(), MINOR_PER_UNIT);
+        }
+        return toMinor(new BigDecimal(value.toString()));
+    }
+
+    /**
+     * Amount kolom yang dibaca sebagai double (SQLite menyimpan decimal sebagai real/integer),
+     * dibulatkan ke sen terdekat
+     */
+    public static long fromDouble(double amount) {
+        double minor = amount * MINOR_PER_UNIT;
+        if (Double.isNaN(minor) || Math.abs(minor) >= Long.MAX_VALUE) {
+            throw new ArithmeticException("Amount out of range: " + amount);
+        }
+        return Math.round(minor);
+    }
+
+    public static BigDecimal toBigDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public static long negate(long amount) {
+        return Math.negateExact(amount);
+    }
+}
@@ -0,0 +1,35 @@
+package com.bookkeeping.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Akumulator total uang (satuan minor, lihat Money) yang bisa diubah di tempat,
+ * untuk menjumlahkan banyak amount tanpa membuat BigDecimal per penjumlahan. Tidak thread-safe.
+ */
+public class MoneyAccumulator {
+
+    private long total;
+
+    public MoneyAccumulator add(long minor) {
+        total = Math.addExact(total, minor);
+        return this;
+    }
+
+    public MoneyAccumulator subtract(long minor) {
+        total = Math.subtractExact(total, minor);
+        return this;
+    }
+
+    public long get() {
+        return total;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return Money.toBigDecimal(total);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,386 @@
+package com.bookkeeping.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.bookkeeping.dao.ImportLogDAO;
+import com.bookkeeping.entity.ImportLog;
+import com.bookkeeping.entity.Transaction;
+import com.bookkeeping.service.TransactionService;
+
+/**
+ * Engine import transaksi dari banyak file CSV secara paralel.
+ * Setiap file di-parse dan divalidasi oleh worker pool, batch yang siap dimasukkan ke
+ * bounded queue, dan satu thread writer melakukan commit ke SQLite. Queue yang penuh
+ * menahan worker (backpressure), sehingga memory tetap terbatas walau writer lebih lambat.
+ * Setiap batch membawa checkpoint import log (offset, baris, reference terakhir) yang
+ * di-commit bersama batch, sehingga import yang gagal dilanjutkan dari journal terakhir
+ * yang ter-commit. File yang isinya (hash) sudah selesai di-import dilewati, dan journal
+ * yang sudah pernah di-import (fingerprint sama) dibuang oleh writer lewat ImportDeduplicator.
+ */
+public class ParallelImportEngine {
+
+    // Perkiraan kasar ukuran satu journal di CSV, untuk ukuran Bloom filter
+    private static final long BYTES_PER_JOURNAL_ESTIMATE = 64;
+
+    private static final ImportBatch END_OF_INPUT = new ImportBatch(null, List.of(), null);
+
+    private final TransactionService transactionService;
+    private final ImportLogDAO importLogDAO = new ImportLogDAO();
+    private final int workerCount;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final long reportIntervalSeconds;
+
+    public ParallelImportEngine(TransactionService transactionService) {
+        this(transactionService, Math.max(1, Runtime.getRuntime().availableProcessors() - 1), 500, 0, 5);
+    }
+
+    /**
+     * @param queueCapacity jumlah batch maksimal di queue; 0 berarti dua kali jumlah worker
+     */
+    public ParallelImportEngine(TransactionService transactionService, int workerCount, int batchSize,
+                                int queueCapacity, long reportIntervalSeconds) {
+        this.transactionService = transactionService;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : workerCount * 2;
+        this.reportIntervalSeconds = reportIntervalSeconds;
+    }
+
+    /**
+     * Import semua file; method ini menunggu sampai writer selesai.
+     * Account code di-resolve dari map yang sudah dimuat caller.
+     */
+    public ImportStats importFiles(List<String> filePaths, Map<String, Long> accountIdsByCode) {
+        BlockingQueue<ImportBatch> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ImportStats stats = new ImportStats(filePaths.size());
+        ImportDeduplicator deduplicator = new ImportDeduplicator(estimateJournals(filePaths));
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(workerCount, Math.max(1, filePaths.size())));
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+
+        Thread writer = new Thread(() -> writeBatches(queue, deduplicator, stats), "import-writer");
+        writer.start();
+        reporter.scheduleAtFixedRate(() -> System.out.println("… " + stats.progress(queue.size(), queueCapacity)),
+                                     reportIntervalSeconds, reportIntervalSeconds, TimeUnit.SECONDS);
+
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (String filePath : filePaths) {
+                results.add(workers.submit(() -> {
+                    parseFile(filePath, accountIdsByCode, queue, stats);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (Exception e) {
+                    stats.failedFiles.incrementAndGet();
+                    System.err.println("❌ Error importing file: " + e.getMessage());
+                }
+            }
+
+            queue.put(END_OF_INPUT);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.interrupt();
+            System.err.println("❌ Import interrupted");
+        } finally {
+            workers.shutdownNow();
+            reporter.shutdownNow();
+        }
+
+        stats.finish();
+        return stats;
+    }
+
+    private void parseFile(String filePath, Map<String, Long> accountIdsByCode,
+                           BlockingQueue<ImportBatch> queue, ImportStats stats)
+            throws IOException, InterruptedException {
+        ImportLog importLog = importLogDAO.findOrCreate(filePath, contentHash(filePath),
+                                                        Files.size(Path.of(filePath)));
+        if (importLog.isCompleted()) {
+            stats.completedFiles.incrementAndGet();
+            System.out.println("⚠ File already imported: " + filePath + " (" +
+                             importLog.getImportedTransactions() + " transactions)");
+            return;
+        }
+
+        long offset = importLog.getCommittedOffset();
+        long lines = importLog.getCommittedLines();
+        String lastReference = importLog.getLastReference();
+        if (offset > 0) {
+            System.out.println("↻ Resuming " + filePath + " after line " + lines + 
+                             " (last committed reference: " + lastReference + ")");
+        }
+
+        FileJob job = new FileJob(filePath);
+        List<Transaction> batch = new ArrayList<>(batchSize);
+
+        try (CsvTransactionReader reader = new CsvTransactionReader(filePath, offset, lines)) {
+            CsvTransactionReader.Journal journal;
+            while ((journal = reader.next()) != null) {
+                stats.parsedRows.addAndGet(journal.getLines().size());
+                try {
+                    Transaction transaction = prepareTransaction(journal, accountIdsByCode);
+                    transaction.setImportFingerprint(JournalFingerprint.of(journal));
+                    batch.add(transaction);
+                } catch (IllegalArgumentException e) {
+                    stats.skippedJournals.incrementAndGet();
+                    System.err.println("❌ Skipping transaction " + journal.getReference() + " (" + filePath +
+                                     " line " + journal.getLineNumber() + "): " + e.getMessage());
+                }
+                lastReference = journal.getReference();
+
+                if (batch.size() >= batchSize) {
+                    if (!put(queue, new ImportBatch(job, batch, new ImportLogDAO.Checkpoint(
+                            importLog.getId(), journal.getEndOffset(), journal.getEndLineNumber(), lastReference, false)))) {
+                        return;
+                    }
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            // Batch terakhir selalu dikirim (walau kosong) untuk menandai file selesai
+            if (!put(queue, new ImportBatch(job, batch, new ImportLogDAO.Checkpoint(
+                    importLog.getId(), reader.getOffset(), reader.getLineNumber(), lastReference, true)))) {
+                return;
+            }
+        }
+        System.out.println("✓ Parsed file: " + filePath);
+    }
+
+    /**
+     * Mengirim batch ke writer; false bila batch sebelumnya dari file yang sama gagal disimpan,
+     * karena checkpoint tidak boleh melewati batch yang gagal
+     */
+    private boolean put(BlockingQueue<ImportBatch> queue, ImportBatch batch) throws InterruptedException {
+        if (batch.job.failed) {
+            System.err.println("⚠ Stopped parsing " + batch.job.filePath + 
+                             " after a failed batch; rerun the import to resume from the last checkpoint");
+            return false;
+        }
+        queue.put(batch);
+        return true;
+    }
+
+    private static long estimateJournals(List<String> filePaths) {
+        long bytes = 0;
+        for (String filePath : filePaths) {
+            try {
+                bytes += Files.size(Path.of(filePath));
+            } catch (IOException e) {
+                // File yang tidak bisa dibaca dilaporkan oleh worker
+            }
+        }
+        return bytes / BYTES_PER_JOURNAL_ESTIMATE;
+    }
+
+    /**
+     * SHA-256 dari isi file, sebagai identitas import job (tidak bergantung pada path)
+     */
+    private static String contentHash(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Error hashing import file: " + e.getMessage(), e);
+        }
+    }
+
+    private Transaction prepareTransaction(CsvTransactionReader.Journal journal, Map<String, Long> accountIdsByCode) {
+        List<TransactionService.TransactionEntryData> entries = new ArrayList<>(journal.getLines().size());
+        for (CsvTransactionReader.Line line : journal.getLines()) {
+            Long accountId = accountIdsByCode.get(line.getAccountCode());
+            if (accountId == null) {
+                throw new IllegalArgumentException("Account not found: " + line.getAccountCode());
+            }
+            entries.add(new TransactionService.TransactionEntryData(
+                accountId, line.getDebitAmount(), line.getCreditAmount(), line.getDescription()));
+        }
+        return transactionService.prepareTransaction(journal.getDescription(), journal.getDate(),
+                                                     journal.getReference(), entries);
+    }
+
+    /**
+     * Loop thread writer: satu batch satu commit, sampai penanda akhir input diterima
+     */
+    private void writeBatches(BlockingQueue<ImportBatch> queue, ImportDeduplicator deduplicator, ImportStats stats) {
+        try {
+            ImportBatch batch;
+            while ((batch = queue.take()) != END_OF_INPUT) {
+                if (batch.job.failed) {
+                    stats.failedJournals.addAndGet(batch.transactions.size());
+                    continue;
+                }
+
+                List<Transaction> transactions;
+                try {
+                    transactions = deduplicator.removeDuplicates(batch.transactions);
+                } catch (Exception e) {
+                    batch.job.failed = true;
+                    stats.failedFiles.incrementAndGet();
+                    stats.failedJournals.addAndGet(batch.transactions.size());
+                    System.err.println("❌ Error checking duplicates in " + batch.job.filePath + ": " + e.getMessage());
+                    continue;
+                }
+                int duplicates = batch.transactions.size() - transactions.size();
+                if (duplicates > 0) {
+                    stats.duplicateJournals.addAndGet(duplicates);
+                    System.out.println("⚠ Skipped " + duplicates + " already imported transactions from " + 
+                                     batch.job.filePath + " (up to reference " + batch.checkpoint.getLastReference() + ")");
+                }
+
+                int rows = transactions.stream().mapToInt(transaction -> transaction.getEntries().size()).sum();
+                try {
+                    stats.importedJournals.addAndGet(transactionService.postTransactionBatch(transactions, batch.checkpoint));
+                    stats.writtenRows.addAndGet(rows);
+                } catch (Exception e) {
+                    batch.job.failed = true;
+                    stats.failedFiles.incrementAndGet();
+                    stats.failedJournals.addAndGet(transactions.size());
+                    System.err.println("❌ Error saving batch from " + batch.job.filePath + " ending at reference: " + 
+                                     batch.checkpoint.getLastReference());
+                    System.err.println("Error: " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Satu file yang sedang di-import; failed di-set writer bila batch file ini gagal disimpan
+     */
+    private static class FileJob {
+        private final String filePath;
+        private volatile boolean failed;
+
+        FileJob(String filePath) {
+            this.filePath = filePath;
+        }
+    }
+
+    /**
+     * Batch transaksi dari satu file beserta checkpoint setelah journal terakhirnya
+     */
+    private static class ImportBatch {
+        private final FileJob job;
+        private final List<Transaction> transactions;
+        private final ImportLogDAO.Checkpoint checkpoint;
+
+        ImportBatch(FileJob job, List<Transaction> transactions, ImportLogDAO.Checkpoint checkpoint) {
+            this.job = job;
+            this.transactions = transactions;
+            this.checkpoint = checkpoint;
+        }
+    }
+
+    /**
+     * Statistik import (dibaca thread reporter saat import berjalan)
+     */
+    public static class ImportStats {
+        private final int fileCount;
+        private final long startTime = System.nanoTime();
+        private long elapsedNanos;
+        private final AtomicLong parsedRows = new AtomicLong();
+        private final AtomicLong writtenRows = new AtomicLong();
+        private final AtomicLong importedJournals = new AtomicLong();
+        private final AtomicLong skippedJournals = new AtomicLong();
+        private final AtomicLong duplicateJournals = new AtomicLong();
+        private final AtomicLong failedJournals = new AtomicLong();
+        private final AtomicLong failedFiles = new AtomicLong();
+        private final AtomicLong completedFiles = new AtomicLong();
+
+        ImportStats(int fileCount) {
+            this.fileCount = fileCount;
+        }
+
+        void finish() {
+            elapsedNanos = System.nanoTime() - startTime;
+        }
+
+        String progress(int queueDepth, int queueCapacity) {
+            double seconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+            return String.format("parsed %d rows (%.0f rows/sec), written %d rows (%.0f rows/sec), queue %d/%d batches",
+                parsedRows.get(), parsedRows.get() / seconds, writtenRows.get(), writtenRows.get() / seconds,
+                queueDepth, queueCapacity);
+        }
+
+        public int getFileCount() {
+            return fileCount;
+        }
+
+        public long getImportedJournals() {
+            return importedJournals.get();
+        }
+
+        public long getSkippedJournals() {
+            return skippedJournals.get();
+        }
+
+        public long getDuplicateJournals() {
+            return duplicateJournals.get();
+        }
+
+        public long getFailedJournals() {
+            return failedJournals.get();
+        }
+
+        public long getFailedFiles() {
+            return failedFiles.get();
+        }
+
+        public long getAlreadyImportedFiles() {
+            return completedFiles.get();
+        }
+
+        public long getWrittenRows() {
+            return writtenRows.get();
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNanos / 1_000_000_000.0;
+        }
+
+        public double getRowsPerSecond() {
+            double seconds = getElapsedSeconds();
+            return seconds > 0 ? writtenRows.get() / seconds : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d files (%d already imported, %d failed): imported %d transactions (%d rows), " +
+                                 "skipped %d, duplicates %d, failed %d, %.1fs, %.0f rows/sec",
+                fileCount, completedFiles.get(), failedFiles.get(), importedJournals.get(), writtenRows.get(),
+                skippedJournals.get(), duplicateJournals.get(), failedJournals.get(), getElapsedSeconds(), 
+                getRowsPerSecond());
+        }
+    }
+}
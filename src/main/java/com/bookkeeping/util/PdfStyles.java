@@ -0,0 +1,84 @@
+package com.bookkeeping.util;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Chunk;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.FontFactory;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.SplitCharacter;
+import com.itextpdf.text.pdf.DefaultSplitCharacter;
+import com.itextpdf.text.pdf.PdfChunk;
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Font, warna dan format yang dipakai bersama oleh semua laporan PDF, dibuat sekali per JVM.
+ * Font di sini hanya dibaca (jangan diubah dengan setSize/setColor karena dipakai semua dokumen),
+ * sehingga aman dipakai dari banyak thread. NumberFormat tidak thread-safe, jadi format currency
+ * memakai satu instance per thread.
+ */
+public final class PdfStyles {
+
+    public static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, BaseColor.BLACK);
+    public static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.BLACK);
+    public static final Font SUB_HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.BLACK);
+    public static final Font NORMAL_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.BLACK);
+    public static final Font POSITIVE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.GREEN);
+    public static final Font NEGATIVE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.RED);
+    public static final Font FOOTER_FONT = FontFactory.getFont(FontFactory.HELVETICA, 8, BaseColor.GRAY);
+
+    public static final float CELL_PADDING = 5;
+    public static final BaseColor HEADER_BACKGROUND = BaseColor.LIGHT_GRAY;
+
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMMM yyyy");
+    public static final DateTimeFormatter ENTRY_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Aturan pemisah baris sama dengan DefaultSplitCharacter (spasi, '-', karakter CJK), tanpa
+     * checkDatePattern-nya yang menyalin seluruh teks baris ke String dan menjalankan regex untuk
+     * setiap karakter. Tanggal di cell laporan memakai '/', jadi tidak ikut terpecah. Stateless.
+     */
+    public static final SplitCharacter SPLIT_CHARACTER = new DefaultSplitCharacter() {
+        @Override
+        public boolean isSplitCharacter(int start, int current, int end, char[] cc, PdfChunk[] ck) {
+            char c = getCurrentCharacter(current, cc, ck);
+            if (c <= ' ' || c == '-' || c == '\u2010') {
+                return true;
+            }
+            if (c < 0x2002) {
+                return false;
+            }
+            return (c <= 0x200b)
+                || (c >= 0x2e80 && c < 0xd7a0)
+                || (c >= 0xf900 && c < 0xfb00)
+                || (c >= 0xfe30 && c < 0xfe50)
+                || (c >= 0xff61 && c < 0xffa0);
+        }
+    };
+
+    private static final ThreadLocal<NumberFormat> CURRENCY_FORMAT =
+        ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(Locale.forLanguageTag("id-ID")));
+
+    private PdfStyles() {}
+
+    /**
+     * Phrase untuk isi cell tabel, memakai SPLIT_CHARACTER
+     */
+    public static Phrase cellPhrase(String text, Font font) {
+        Chunk chunk = new Chunk(text, font);
+        chunk.setSplitCharacter(SPLIT_CHARACTER);
+        return new Phrase(chunk);
+    }
+
+    /**
+     * Format currency Rupiah; nol atau null ditampilkan "-"
+     */
+    public static String formatCurrency(BigDecimal amount) {
+        if (amount == null || amount.signum() == 0) {
+            return "-";
+        }
+        return CURRENCY_FORMAT.get().format(amount);
+    }
+}
@@ -0,0 +1,260 @@
+package com.bookkeeping.util;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.bookkeeping.model.BalanceSheetData;
+import com.bookkeeping.model.GeneralLedgerData;
+import com.bookkeeping.model.IncomeStatementData;
+import com.bookkeeping.model.ReportSpec;
+import com.bookkeeping.model.TrialBalanceData;
+import com.bookkeeping.service.PDFReportService;
+import com.bookkeeping.service.ReportService;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.PdfCopy;
+import com.itextpdf.text.pdf.PdfReader;
+
+/**
+ * Export banyak laporan sekaligus (mis. month-end untuk beberapa periode).
+ * Setiap laporan diambil datanya lalu dirender ke PDF oleh worker pool terbatas (default sebanyak
+ * connection pool read-only, 4) yang berbagi satu PDFReportService (thread-safe, biasanya milik
+ * caller). Hasilnya satu file per laporan, atau satu dokumen gabungan (PdfCopy) sesuai urutan spec.
+ * Waktu load dan render setiap laporan dicatat di ExportResult; mencetaknya tugas caller.
+ */
+public class ReportBatchExporter {
+
+    private static final int DEFAULT_WORKERS = Math.max(1, Integer.getInteger("bookkeeping.reportExportWorkers",
+        Math.min(4, Runtime.getRuntime().availableProcessors())));
+
+    private final ReportService reportService;
+    private final PDFReportService pdfService;
+    private final int workerCount;
+
+    public ReportBatchExporter(ReportService reportService, PDFReportService pdfService) {
+        this(reportService, pdfService, DEFAULT_WORKERS);
+    }
+
+    public ReportBatchExporter(ReportService reportService, PDFReportService pdfService, int workerCount) {
+        this.reportService = reportService;
+        this.pdfService = pdfService;
+        this.workerCount = Math.max(1, workerCount);
+    }
+
+    /**
+     * Export setiap laporan ke file sendiri di directory (nama file dari ReportSpec.getFileName).
+     * Laporan yang gagal tidak menghentikan laporan lain; error-nya ada di ExportResult.
+     */
+    public List<ExportResult> exportToDirectory(List<ReportSpec> specs, File directory) {
+        directory.mkdirs();
+        List<File> files = new ArrayList<>(specs.size());
+        for (ReportSpec spec : specs) {
+            files.add(new File(directory, spec.getFileName()));
+        }
+        return exportAll(specs, files);
+    }
+
+    /**
+     * Export semua laporan menjadi satu PDF sesuai urutan specs. Laporan dirender paralel ke
+     * file sementara lalu digabung; bila ada laporan yang gagal, file gabungan tidak dibuat.
+     */
+    public List<ExportResult> exportMerged(List<ReportSpec> specs, File outputFile) throws IOException, DocumentException {
+        List<File> parts = new ArrayList<>(specs.size());
+        try {
+            for (int i = 0; i < specs.size(); i++) {
+                parts.add(File.createTempFile("report-part-" + i + "-", ".pdf"));
+            }
+
+            List<ExportResult> results = exportAll(specs, parts);
+            for (ExportResult result : results) {
+                if (!result.isSuccess()) {
+                    throw new RuntimeException("Error exporting " + result.getSpec().getName() + ": " +
+                                             result.getError().getMessage(), result.getError());
+                }
+            }
+
+            merge(parts, outputFile);
+            return results;
+        } finally {
+            for (File part : parts) {
+                part.delete();
+            }
+        }
+    }
+
+    private List<ExportResult> exportAll(List<ReportSpec> specs, List<File> files) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(workerCount, Math.max(1, specs.size())), runnable -> {
+            Thread thread = new Thread(runnable, "report-export-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<ExportResult> results = new ArrayList<>(specs.size());
+        try {
+            List<Future<ExportResult>> futures = new ArrayList<>(specs.size());
+            for (int i = 0; i < specs.size(); i++) {
+                ReportSpec spec = specs.get(i);
+                File file = files.get(i);
+                futures.add(workers.submit(() -> export(spec, file)));
+            }
+            for (Future<ExportResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Report export interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error exporting reports: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Satu laporan: ambil data lalu tulis PDF. General Ledger men-stream entries saat render,
+     * jadi waktu load-nya hanya header account.
+     */
+    private ExportResult export(ReportSpec spec, File file) {
+        long started = System.nanoTime();
+        long loaded = started;
+        try {
+            String filePath = file.getAbsolutePath();
+            switch (spec.getType()) {
+                case TRIAL_BALANCE: {
+                    TrialBalanceData data = reportService.generateTrialBalance(spec.getEndDate());
+                    loaded = System.nanoTime();
+                    pdfService.generateTrialBalancePDF(data, filePath);
+                    break;
+                }
+                case BALANCE_SHEET: {
+                    BalanceSheetData data = reportService.generateBalanceSheet(spec.getEndDate());
+                    loaded = System.nanoTime();
+                    pdfService.generateBalanceSheetPDF(data, filePath);
+                    break;
+                }
+                case INCOME_STATEMENT: {
+                    IncomeStatementData data = reportService.generateIncomeStatement(spec.getStartDate(), spec.getEndDate());
+                    loaded = System.nanoTime();
+                    pdfService.generateIncomeStatementPDF(data, filePath);
+                    break;
+                }
+                case GENERAL_LEDGER: {
+                    GeneralLedgerData data = reportService.generateGeneralLedger(spec.getStartDate(), spec.getEndDate());
+                    loaded = System.nanoTime();
+                    pdfService.generateGeneralLedgerPDF(data, reportService, filePath);
+                    break;
+                }
+            }
+
+            return new ExportResult(spec, file, (loaded - started) / 1_000_000, elapsedMillis(loaded), null);
+        } catch (Exception e) {
+            return new ExportResult(spec, file, (loaded - started) / 1_000_000, elapsedMillis(loaded), e);
+        }
+    }
+
+    /**
+     * Menggabungkan PDF sesuai urutan; reader dibuka partial agar halaman dibaca saat disalin.
+     * Bila gagal, file gabungan yang belum lengkap dihapus.
+     */
+    private void merge(List<File> parts, File outputFile) throws IOException, DocumentException {
+        Document document = new Document();
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(outputFile));
+        boolean merged = false;
+        try {
+            PdfCopy copy = new PdfCopy(document, out);
+            document.open();
+            for (File part : parts) {
+                PdfReader reader = new PdfReader(part.getAbsolutePath(), null, true);
+                try {
+                    copy.addDocument(reader);
+                    copy.freeReader(reader);
+                } finally {
+                    reader.close();
+                }
+            }
+            merged = true;
+        } finally {
+            // document.close() juga menutup stream; bila dokumen belum terbuka stream ditutup langsung
+            try {
+                if (document.isOpen()) {
+                    document.close();
+                } else {
+                    out.close();
+                }
+            } finally {
+                if (!merged) {
+                    outputFile.delete();
+                }
+            }
+        }
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    /**
+     * Hasil export satu laporan beserta waktunya; error null bila berhasil
+     */
+    public static class ExportResult {
+        private final ReportSpec spec;
+        private final File file;
+        private final long loadMillis;
+        private final long renderMillis;
+        private final Exception error;
+
+        ExportResult(ReportSpec spec, File file, long loadMillis, long renderMillis, Exception error) {
+            this.spec = spec;
+            this.file = file;
+            this.loadMillis = loadMillis;
+            this.renderMillis = renderMillis;
+            this.error = error;
+        }
+
+        public ReportSpec getSpec() {
+            return spec;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public long getLoadMillis() {
+            return loadMillis;
+        }
+
+        public long getRenderMillis() {
+            return renderMillis;
+        }
+
+        public long getTotalMillis() {
+            return loadMillis + renderMillis;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            return spec.getName() + ": " + (isSuccess() ? "load " + loadMillis + " ms, render " + renderMillis + " ms"
+                                                        : "failed (" + error.getMessage() + ")");
+        }
+    }
+}
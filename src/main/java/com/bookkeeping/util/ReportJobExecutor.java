@@ -0,0 +1,122 @@
+package com.bookkeeping.util;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.concurrent.Task;
+
+/**
+ * Executor untuk membuat laporan di background, di luar JavaFX Application Thread.
+ * Job mengantri di executor dengan jumlah worker terbatas (setiap job memakai connection
+ * dari pool read-only), dan progress, pesan, hasil serta error dikirim ke UI oleh
+ * javafx.concurrent.Task lewat Platform.runLater.
+ */
+public class ReportJobExecutor {
+
+    private final ExecutorService executor;
+
+    public ReportJobExecutor(int workerCount) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "report-job-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Memasukkan job ke antrian. Harus dipanggil dari JavaFX Application Thread;
+     * handler job (setOnSucceeded dsb.) juga dijalankan di thread tersebut.
+     */
+    public <T> ReportJob<T> submit(String name, File file, ReportLoader<T> loader, ReportWriter<T> writer) {
+        ReportJob<T> job = new ReportJob<>(name, file, loader, writer);
+        executor.execute(job);
+        return job;
+    }
+
+    /**
+     * Membatalkan job yang masih berjalan atau mengantri (dipanggil saat aplikasi ditutup)
+     */
+    public void shutdownNow() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Mengambil data laporan (query database)
+     */
+    @FunctionalInterface
+    public interface ReportLoader<T> {
+        T load() throws Exception;
+    }
+
+    /**
+     * Menulis data laporan ke file PDF
+     */
+    @FunctionalInterface
+    public interface ReportWriter<T> {
+        void write(T data, String filePath) throws Exception;
+    }
+
+    /**
+     * Satu job laporan: ambil data, lalu tulis PDF. Pembatalan dicek di antara tahap; file yang
+     * sudah terlanjur ditulis dihapus bila job dibatalkan atau writer gagal. Progress hanya per
+     * tahap (load, write, selesai), bukan per baris.
+     */
+    public static class ReportJob<T> extends Task<File> {
+        private final String name;
+        private final File file;
+        private final ReportLoader<T> loader;
+        private final ReportWriter<T> writer;
+
+        ReportJob(String name, File file, ReportLoader<T> loader, ReportWriter<T> writer) {
+            this.name = name;
+            this.file = file;
+            this.loader = loader;
+            this.writer = writer;
+            updateTitle(name);
+            updateMessage("Queued");
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        @Override
+        protected File call() throws Exception {
+            updateMessage("Loading data...");
+            updateProgress(0, 2);
+            T data = loader.load();
+            if (isCancelled()) {
+                return null;
+            }
+
+            updateMessage("Writing PDF...");
+            updateProgress(1, 2);
+            boolean written = false;
+            try {
+                writer.write(data, file.getAbsolutePath());
+                written = !isCancelled();
+            } finally {
+                if (!written) {
+                    file.delete();
+                }
+            }
+            if (!written) {
+                return null;
+            }
+
+            updateMessage("Saved to " + file.getName());
+            updateProgress(2, 2);
+            return file;
+        }
+    }
+}
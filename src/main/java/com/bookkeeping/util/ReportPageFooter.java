@@ -0,0 +1,57 @@
+package com.bookkeeping.util;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfPageEventHelper;
+import com.itextpdf.text.pdf.PdfTemplate;
+import com.itextpdf.text.pdf.PdfWriter;
+import java.time.LocalDate;
+
+/**
+ * Page event untuk footer laporan PDF: nama laporan dan tanggal cetak di kiri, "Page N of M" di kanan.
+ * Total halaman baru diketahui saat dokumen ditutup, jadi ditulis ke satu PdfTemplate yang dipasang
+ * di setiap halaman. Template terikat ke satu PdfWriter, sehingga instance dibuat per dokumen;
+ * font dan format diambil dari PdfStyles.
+ */
+public class ReportPageFooter extends PdfPageEventHelper {
+
+    private static final float FOOTER_OFFSET = 18;
+    private static final float TOTAL_WIDTH = 30;
+    private static final float TOTAL_HEIGHT = 12;
+    private static final float TOTAL_DESCENT = 3;
+    private static final float TOTAL_GAP = 3;
+
+    private final String text;
+    private PdfTemplate totalPages;
+
+    public ReportPageFooter(String reportName) {
+        this.text = reportName + " - Generated " + LocalDate.now().format(PdfStyles.DATE_FORMAT);
+    }
+
+    @Override
+    public void onOpenDocument(PdfWriter writer, Document document) {
+        totalPages = writer.getDirectContent().createTemplate(TOTAL_WIDTH, TOTAL_HEIGHT);
+    }
+
+    @Override
+    public void onEndPage(PdfWriter writer, Document document) {
+        PdfContentByte canvas = writer.getDirectContent();
+        float y = document.bottom() - FOOTER_OFFSET;
+        float totalX = document.right() - TOTAL_WIDTH;
+
+        ColumnText.showTextAligned(canvas, Element.ALIGN_LEFT,
+            new Phrase(text, PdfStyles.FOOTER_FONT), document.left(), y, 0);
+        ColumnText.showTextAligned(canvas, Element.ALIGN_RIGHT,
+            new Phrase("Page " + writer.getPageNumber() + " of", PdfStyles.FOOTER_FONT), totalX - TOTAL_GAP, y, 0);
+        canvas.addTemplate(totalPages, totalX, y - TOTAL_DESCENT);
+    }
+
+    @Override
+    public void onCloseDocument(PdfWriter writer, Document document) {
+        ColumnText.showTextAligned(totalPages, Element.ALIGN_LEFT,
+            new Phrase(String.valueOf(writer.getPageNumber()), PdfStyles.FOOTER_FONT), 0, TOTAL_DESCENT, 0);
+    }
+}
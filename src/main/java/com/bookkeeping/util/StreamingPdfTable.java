@@ -0,0 +1,90 @@
+package com.bookkeeping.util;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+
+/**
+ * PdfPTable yang ditulis ke Document secara bertahap. Table dibuat incomplete (setComplete(false))
+ * dan di-add ke document setiap FLUSH_ROWS baris: iText menulis baris yang sudah lengkap ke
+ * halaman lalu membuangnya dari table, sehingga memory tetap konstan berapa pun jumlah barisnya.
+ * Baris header diulang di setiap halaman. Cell memakai satu instance template yang diisi ulang
+ * (PdfPTable.addCell menyalin cell), bukan objek cell baru per kolom; style dari PdfStyles.
+ * Tidak thread-safe (satu instance per tabel).
+ */
+public class StreamingPdfTable {
+
+    public static final int FLUSH_ROWS = 200;
+
+    private final Document document;
+    private final PdfPTable table;
+    private final PdfPCell cell = new PdfPCell();
+    private final PdfPCell headerCell = new PdfPCell();
+    private final int columns;
+    private int cellsInRow;
+    private int rowsSinceFlush;
+    private int headerRows;
+    private boolean finished;
+
+    public StreamingPdfTable(Document document, float... relativeWidths) throws DocumentException {
+        this.document = document;
+        this.columns = relativeWidths.length;
+        this.table = new PdfPTable(columns);
+        table.setWidthPercentage(100);
+        table.setWidths(relativeWidths);
+        table.setComplete(false);
+
+        cell.setPadding(PdfStyles.CELL_PADDING);
+        headerCell.setPadding(PdfStyles.CELL_PADDING);
+        headerCell.setBackgroundColor(PdfStyles.HEADER_BACKGROUND);
+        headerCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+    }
+
+    public void setSpacingBefore(float spacing) {
+        table.setSpacingBefore(spacing);
+    }
+
+    /**
+     * Menambah satu baris header (diulang di setiap halaman); dipanggil sebelum baris data
+     */
+    public void addHeaderRow(Font font, String... titles) {
+        for (String title : titles) {
+            headerCell.setPhrase(PdfStyles.cellPhrase(title, font));
+            table.addCell(headerCell);
+        }
+        table.setHeaderRows(++headerRows);
+    }
+
+    public void addCell(String text, Font font, int horizontalAlignment) throws DocumentException {
+        cell.setPhrase(PdfStyles.cellPhrase(text, font));
+        cell.setHorizontalAlignment(horizontalAlignment);
+        table.addCell(cell);
+        rowCellAdded();
+    }
+
+    /**
+     * Menulis sisa baris dan menandai table selesai; wajib dipanggil sekali setelah baris terakhir
+     */
+    public void finish() throws DocumentException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        table.setComplete(true);
+        document.add(table);
+    }
+
+    private void rowCellAdded() throws DocumentException {
+        if (++cellsInRow < columns) {
+            return;
+        }
+        cellsInRow = 0;
+        if (++rowsSinceFlush >= FLUSH_ROWS) {
+            rowsSinceFlush = 0;
+            document.add(table);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookkeeping.util;
+
+import com.bookkeeping.dao.NumberSequenceDAO;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Allocator nomor transaksi (TXN-000001) gaya hi/lo.
+ * Satu blok nomor diambil dari tabel number_sequences dalam satu commit singkat, lalu
+ * dibagikan dari memory; aman dipakai bersama oleh UI dan worker importer. Nomor yang
+ * belum terpakai saat aplikasi ditutup hilang, jadi celah maksimal sebesar ukuran blok.
+ * Ukuran blok diatur lewat system property bookkeeping.txnNumberBlockSize (default 50).
+ */
+public final class TransactionNumberAllocator {
+
+    private static final String SEQUENCE_NAME = "transaction_number";
+    private static final String PREFIX = "TXN-";
+    private static final int BLOCK_SIZE = Math.max(1, Integer.getInteger("bookkeeping.txnNumberBlockSize", 50));
+
+    private static final NumberSequenceDAO sequenceDAO = new NumberSequenceDAO();
+    private static long next = 0;
+    private static long limit = 0;
+
+    private TransactionNumberAllocator() {}
+
+    /**
+     * Mendapatkan nomor transaksi berikutnya
+     */
+    public static synchronized String nextNumber() {
+        if (next >= limit) {
+            allocateBlock(BLOCK_SIZE);
+        }
+        return format(next++);
+    }
+
+    /**
+     * Mendapatkan sejumlah nomor transaksi berurutan sekaligus (dipakai bulk import).
+     * Bila sisa blok tidak cukup, satu blok baru seukuran kebutuhan diambil dalam satu commit.
+     */
+    public static synchronized List<String> nextNumbers(int count) {
+        List<String> numbers = new ArrayList<>(count);
+        while (numbers.size() < count) {
+            if (next >= limit) {
+                allocateBlock(Math.max(BLOCK_SIZE, count - numbers.size()));
+            }
+            numbers.add(format(next++));
+        }
+        return numbers;
+    }
+
+    private static void allocateBlock(int size) {
+        next = sequenceDAO.allocateBlock(SEQUENCE_NAME, size, TransactionNumberAllocator::initialValue);
+        limit = next + size;
+    }
+
+    private static String format(long number) {
+        return String.format(PREFIX + "%06d", number);
+    }
+
+    /**
+     * Membuang sisa blok di memory, mis. setelah database diinisialisasi ulang
+     */
+    public static synchronized void reset() {
+        next = 0;
+        limit = 0;
+    }
+
+    /**
+     * Nilai awal sequence untuk database yang sudah berisi transaksi: nomor TXN- terbesar + 1.
+     * Dibandingkan sebagai angka, bukan string (TXN-1000000 lebih kecil dari TXN-999999 bila
+     * dibandingkan sebagai string). Hanya dijalankan sekali, saat baris sequence belum ada.
+     */
+    private static long initialValue(EntityManager em) {
+        Long lastNumber = em.createQuery(
+            "SELECT MAX(CAST(SUBSTRING(t.transactionNumber, :start) AS Long)) FROM Transaction t " +
+            "WHERE t.transactionNumber LIKE :prefix", Long.class)
+            .setParameter("start", PREFIX.length() + 1)
+            .setParameter("prefix", PREFIX + "%")
+            .getSingleResult();
+        return lastNumber != null ? Math.max(lastNumber, 0) + 1 : 1;
+    }
+}
@@ -4,6 +4,8 @@ module bookkeeping.app {
     requires javafx.graphics;
     requires jakarta.persistence;
     requires org.hibernate.orm.core;
+    requires org.hibernate.orm.hikaricp;
+    requires com.zaxxer.hikari;
     requires java.sql;
     requires jakarta.validation;
     requires org.slf4j;